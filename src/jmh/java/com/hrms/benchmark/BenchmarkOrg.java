@@ -0,0 +1,30 @@
+package com.hrms.benchmark;
+
+import com.hrms.HrmsApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Starts the application without a web server on its own in-memory H2 database, with the startup seed
+ * sized to the requested headcount, so service benchmarks run against realistic table sizes.
+ */
+final class BenchmarkOrg {
+
+    private static final int EMPLOYEES_PER_DEPARTMENT = 250;
+
+    private BenchmarkOrg() {
+    }
+
+    static ConfigurableApplicationContext start(int employeeCount) {
+        return new SpringApplicationBuilder(HrmsApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark-" + employeeCount,
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.com.hrms=WARN",
+                        "--logging.level.org.springframework.security=WARN",
+                        "--hrms.seed.employees=" + employeeCount,
+                        "--hrms.seed.departments=" + Math.max(1, employeeCount / EMPLOYEES_PER_DEPARTMENT),
+                        "--hrms.seed.max-depth=8");
+    }
+}
@@ -0,0 +1,74 @@
+package com.hrms.benchmark;
+
+import com.hrms.DTOs.EmployeeSearchResultDTO;
+import com.hrms.model.Employee;
+import com.hrms.repository.EmployeeRepository;
+import com.hrms.service.EmployeeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Typeahead queries against the in-memory search index, through the service so visibility filtering
+ * and DTO mapping are included. Runs as the CEO, who sees everyone, which is the most expensive case.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeSearchBenchmark {
+
+    @Param({"1000", "100000"})
+    private int orgSize;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private String exactQuery;
+    private String prefixQuery;
+    private String typoQuery;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkOrg.start(orgSize);
+        employeeService = context.getBean(EmployeeService.class);
+        Employee ceo = context.getBean(EmployeeRepository.class).findWithDepartmentByEmail("ceo@company.com").orElseThrow();
+        // JMH may run setup and measurement on different threads
+        SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                ceo, null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+
+        // Seeded staff are named "Employee <n>"
+        String number = String.valueOf(orgSize / 2);
+        exactQuery = "employee " + number;
+        prefixQuery = "empl " + number.substring(0, number.length() - 1);
+        typoQuery = "emplyee " + number;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+        context.close();
+    }
+
+    @Benchmark
+    public List<EmployeeSearchResultDTO> exact() {
+        return employeeService.searchEmployees(exactQuery, 10);
+    }
+
+    @Benchmark
+    public List<EmployeeSearchResultDTO> prefix() {
+        return employeeService.searchEmployees(prefixQuery, 10);
+    }
+
+    @Benchmark
+    public List<EmployeeSearchResultDTO> typo() {
+        return employeeService.searchEmployees(typoQuery, 10);
+    }
+}
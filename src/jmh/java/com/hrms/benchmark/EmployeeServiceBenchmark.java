@@ -0,0 +1,82 @@
+package com.hrms.benchmark;
+
+import com.hrms.DTOs.CursorPageDTO;
+import com.hrms.DTOs.EmployeeDTO;
+import com.hrms.model.Employee;
+import com.hrms.repository.EmployeeRepository;
+import com.hrms.service.EmployeeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Employee reads through the transactional service proxy, which covers convertToDTO and the direct
+ * report counts, at several org sizes. Override the sizes with {@code -p orgSize=...}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeServiceBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int orgSize;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private long employeeId;
+    private long departmentId;
+    private long departmentHeadId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkOrg.start(orgSize);
+        employeeService = context.getBean(EmployeeService.class);
+        EmployeeRepository employees = context.getBean(EmployeeRepository.class);
+
+        Employee ceo = employees.findWithDepartmentByEmail("ceo@company.com").orElseThrow();
+        // JMH may run setup and measurement on different threads
+        SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                ceo, null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+
+        Employee head = employees.findWithDepartmentByEmail("eng.head@company.com").orElseThrow();
+        departmentHeadId = head.getId();
+        departmentId = head.getDepartment().getId();
+        employeeId = employees.findByIdGreaterThanOrderByIdAsc(head.getId(), Limit.of(1)).get(0).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+        context.close();
+    }
+
+    @Benchmark
+    public EmployeeDTO getEmployee() {
+        return employeeService.getEmployee(employeeId);
+    }
+
+    @Benchmark
+    public CursorPageDTO<EmployeeDTO> getEmployeesPage() {
+        return employeeService.getEmployeesPage(null, 50);
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> getEmployeesByDept() {
+        return employeeService.getEmployeesByDept(departmentId);
+    }
+
+    @Benchmark
+    public CursorPageDTO<EmployeeDTO> getSubtreePage() {
+        return employeeService.getSubtree(departmentHeadId, null, null, 50);
+    }
+}
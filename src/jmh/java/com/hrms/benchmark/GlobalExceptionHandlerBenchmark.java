@@ -0,0 +1,65 @@
+package com.hrms.benchmark;
+
+import com.hrms.DTOs.EmployeeRequestDTO;
+import com.hrms.exception.GlobalExceptionHandler;
+import com.hrms.exception.HrmsException;
+import com.hrms.exception.UnauthorizedException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Error response building for the common failure paths, including constructing the exception itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GlobalExceptionHandlerBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private MethodParameter parameter;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        handler = new GlobalExceptionHandler();
+        parameter = new MethodParameter(
+                GlobalExceptionHandlerBenchmark.class.getDeclaredMethod("target", EmployeeRequestDTO.class), 0);
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, String>> businessRuleViolation() {
+        return handler.handleBusinessException(new HrmsException("Employee and manager must be in same department"));
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, String>> unauthorized() {
+        return handler.handleUnauthorizedException(new UnauthorizedException("You are not authorized to view this employee"));
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> validationFailure() {
+        BeanPropertyBindingResult result = new BeanPropertyBindingResult(new EmployeeRequestDTO(), "employeeRequestDTO");
+        result.addError(new FieldError("employeeRequestDTO", "name", "Name is required"));
+        result.addError(new FieldError("employeeRequestDTO", "email", "Email should be valid"));
+        result.addError(new FieldError("employeeRequestDTO", "role", "Role is required"));
+        return handler.handleValidationException(new MethodArgumentNotValidException(parameter, result));
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, String>> unexpectedError() {
+        return handler.handleGenericException(new IllegalStateException("boom"));
+    }
+
+    @SuppressWarnings("unused")
+    private void target(EmployeeRequestDTO request) {
+    }
+}
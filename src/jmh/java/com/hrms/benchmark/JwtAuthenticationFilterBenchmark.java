@@ -0,0 +1,106 @@
+package com.hrms.benchmark;
+
+import com.hrms.model.Department;
+import com.hrms.model.Employee;
+import com.hrms.repository.EmployeeRepository;
+import com.hrms.security.JwtAuthenticationFilter;
+import com.hrms.security.JwtUtil;
+import com.hrms.security.PrincipalCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of authenticating one request in the filter, with the principal served from PrincipalCache.
+ * The repository behind the cache is a stub so only the filter's own work is measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "fbgshbc73rkjdcwe7fy32fh23i23gf9723fui32bif23987rfy32ufh23iugf9732fiu23f";
+    private static final long EXPIRATION = 86_400_000L;
+
+    private JwtAuthenticationFilter cachingFilter;
+    private JwtAuthenticationFilter uncachedClaimsFilter;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtUtil cachingJwtUtil = new JwtUtil(SECRET, EXPIRATION, 10_000);
+        JwtUtil uncachedJwtUtil = new JwtUtil(SECRET, EXPIRATION, 0);
+        PrincipalCache principalCache = new PrincipalCache(stubRepository(ceo()), 10_000, 300_000,
+                new SimpleMeterRegistry());
+
+        cachingFilter = new JwtAuthenticationFilter(cachingJwtUtil, principalCache);
+        uncachedClaimsFilter = new JwtAuthenticationFilter(uncachedJwtUtil, principalCache);
+        token = cachingJwtUtil.generateToken("ceo@company.com", "ADMIN");
+    }
+
+    @Benchmark
+    public Authentication authenticatedRequest() throws ServletException, IOException {
+        return filter(cachingFilter, "Bearer " + token);
+    }
+
+    @Benchmark
+    public Authentication authenticatedRequestUncachedClaims() throws ServletException, IOException {
+        return filter(uncachedClaimsFilter, "Bearer " + token);
+    }
+
+    @Benchmark
+    public Authentication malformedToken() throws ServletException, IOException {
+        return filter(cachingFilter, "Bearer not-a-token");
+    }
+
+    @Benchmark
+    public Authentication anonymousRequest() throws ServletException, IOException {
+        return filter(cachingFilter, null);
+    }
+
+    private static Authentication filter(JwtAuthenticationFilter filter, String authorization)
+            throws ServletException, IOException {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/employees/profile");
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private static Employee ceo() {
+        Employee ceo = new Employee();
+        ceo.setId(1L);
+        ceo.setName("John CEO");
+        ceo.setEmail("ceo@company.com");
+        ceo.setRole(Employee.UserRole.ADMIN);
+        ceo.setCeo(true);
+        ceo.setDepartment(new Department());
+        return ceo;
+    }
+
+    private static EmployeeRepository stubRepository(Employee employee) {
+        return (EmployeeRepository) Proxy.newProxyInstance(EmployeeRepository.class.getClassLoader(),
+                new Class<?>[]{EmployeeRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "findWithDepartmentByEmail" -> Optional.of(employee);
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "StubEmployeeRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
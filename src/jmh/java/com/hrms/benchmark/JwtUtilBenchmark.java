@@ -0,0 +1,84 @@
+package com.hrms.benchmark;
+
+import com.hrms.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request token handling cost: the previous three-parse path against the cached single parse.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET = "fbgshbc73rkjdcwe7fy32fh23i23gf9723fui32bif23987rfy32ufh23iugf9732fiu23f";
+    private static final long EXPIRATION = 86_400_000L;
+
+    private JwtUtil cachingJwtUtil;
+    private JwtUtil uncachedJwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachingJwtUtil = new JwtUtil(SECRET, EXPIRATION, 10_000);
+        uncachedJwtUtil = new JwtUtil(SECRET, EXPIRATION, 0);
+        token = cachingJwtUtil.generateToken("ceo@company.com", "ADMIN");
+        cachingJwtUtil.parseClaims(token);
+    }
+
+    // extractEmail, validateToken and extractRole each derived the key, built a parser and verified the token
+    @Benchmark
+    public void legacyThreeParsesPerRequest(Blackhole blackhole) {
+        for (int i = 0; i < 3; i++) {
+            blackhole.consume(Jwts.parserBuilder()
+                    .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                    .build()
+                    .parseClaimsJws(token)
+                    .getBody());
+        }
+    }
+
+    @Benchmark
+    public Claims singleVerifyPerRequest() {
+        return uncachedJwtUtil.parseClaims(token);
+    }
+
+    @Benchmark
+    public Claims cachedClaimsPerRequest() {
+        return cachingJwtUtil.parseClaims(token);
+    }
+
+    @Benchmark
+    public String extractEmail() {
+        return cachingJwtUtil.extractEmail(token);
+    }
+
+    @Benchmark
+    public String extractEmailUncached() {
+        return uncachedJwtUtil.extractEmail(token);
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return cachingJwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public Boolean validateTokenUncached() {
+        return uncachedJwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachingJwtUtil.generateToken("ceo@company.com", "ADMIN");
+    }
+}
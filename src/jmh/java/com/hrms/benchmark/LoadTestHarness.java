@@ -0,0 +1,373 @@
+package com.hrms.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.hrms.HrmsApplication;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Function;
+
+/**
+ * End-to-end load test. Starts the application in-process on a random port with a large seeded org,
+ * drives a weighted mix of routes through the full security filter chain from concurrent authenticated
+ * clients over loopback, and reports throughput and HdrHistogram latency percentiles per route as JSON.
+ * Given a baseline report, it exits non-zero when a route's p99 or throughput regresses beyond the
+ * allowed ratio, or when its error count or error rate goes up at all.
+ * <p>
+ * Settings are system properties: {@code load.employees}, {@code load.departments}, {@code load.clients},
+ * {@code load.warmup-seconds}, {@code load.duration-seconds}, {@code load.mix} (for example
+ * {@code profile=4,employee=2,login=1}), {@code load.result}, {@code load.baseline} and
+ * {@code load.max-regression}.
+ */
+public class LoadTestHarness {
+
+    static final String DEFAULT_MIX = "profile=4,employee=4,employees-page=2,department-employees-page=2,"
+            + "subtree=1,reports=2,departments=1,department=2,login=1";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String CEO_LOGIN = "{\"email\":\"ceo@company.com\",\"password\":\"password\"}";
+
+    record Settings(int employees, int departments, int clients, long warmupSeconds, long durationSeconds,
+                    Map<String, Integer> mix) {
+
+        static Settings fromSystemProperties() {
+            return new Settings(
+                    Integer.getInteger("load.employees", 100_000),
+                    Integer.getInteger("load.departments", 50),
+                    Integer.getInteger("load.clients", 64),
+                    Long.getLong("load.warmup-seconds", 15),
+                    Long.getLong("load.duration-seconds", 60),
+                    parseMix(System.getProperty("load.mix", DEFAULT_MIX)));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        ObjectNode report = run(Settings.fromSystemProperties());
+
+        Path result = Path.of(System.getProperty("load.result", "target/load-test-report.json"));
+        Files.createDirectories(result.toAbsolutePath().getParent());
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(result.toFile(), report);
+        printReport(report);
+        System.out.println("Report written to " + result.toAbsolutePath());
+
+        String baseline = System.getProperty("load.baseline");
+        if (baseline != null && !baseline.isBlank()) {
+            double maxRegression = Double.parseDouble(System.getProperty("load.max-regression", "0.2"));
+            List<String> regressions = regressions(MAPPER.readTree(Path.of(baseline).toFile()), report, maxRegression);
+            regressions.forEach(System.out::println);
+            if (!regressions.isEmpty()) {
+                System.exit(1);
+            }
+        }
+    }
+
+    static ObjectNode run(Settings settings, String... profiles) throws Exception {
+        try (ConfigurableApplicationContext context = start(settings.employees(), settings.departments(), profiles)) {
+            String baseUrl = baseUrl(context);
+            HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            String token = login(http, baseUrl);
+            List<Route> routes = routes(settings.mix(), baseUrl, token, Fixtures.load(http, baseUrl, token));
+            return drive(http, routes, settings);
+        }
+    }
+
+    static ConfigurableApplicationContext start(int employees, int departments, String... profiles) {
+        SpringApplication application = new SpringApplication(HrmsApplication.class);
+        application.setAdditionalProfiles(profiles);
+        return application.run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:load-test",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.com.hrms=WARN",
+                "--logging.level.org.springframework.security=WARN",
+                "--hrms.seed.employees=" + employees,
+                "--hrms.seed.departments=" + departments,
+                "--hrms.seed.max-depth=8");
+    }
+
+    static String baseUrl(ConfigurableApplicationContext context) {
+        return "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort() + "/api/v1";
+    }
+
+    static String login(HttpClient http, String baseUrl) throws IOException, InterruptedException {
+        return MAPPER.readTree(sendForBody(http, post(baseUrl + "/auth/login", CEO_LOGIN))).get("token").asText();
+    }
+
+    private static ObjectNode drive(HttpClient http, List<Route> routes, Settings settings) throws InterruptedException {
+        int[] cumulativeWeights = new int[routes.size()];
+        int totalWeight = 0;
+        for (int i = 0; i < routes.size(); i++) {
+            totalWeight += routes.get(i).weight();
+            cumulativeWeights[i] = totalWeight;
+        }
+        int weightSum = totalWeight;
+
+        long durationNanos = settings.durationSeconds() * 1_000_000_000L;
+        long measureFrom = System.nanoTime() + settings.warmupSeconds() * 1_000_000_000L;
+        long measureUntil = measureFrom + durationNanos;
+
+        // Each client records into its own histograms; they are merged once the run is over
+        List<ClientStats> clients = new ArrayList<>(settings.clients());
+        CountDownLatch done = new CountDownLatch(settings.clients());
+        for (int c = 0; c < settings.clients(); c++) {
+            ClientStats stats = new ClientStats(routes.size());
+            clients.add(stats);
+            Random random = new Random(c);
+            Thread.ofPlatform().name("load-client-" + c).start(() -> {
+                try {
+                    long sentAt;
+                    while ((sentAt = System.nanoTime()) < measureUntil) {
+                        int route = pick(cumulativeWeights, random.nextInt(weightSum));
+                        int status = send(http, routes.get(route).request(random));
+                        long finishedAt = System.nanoTime();
+                        if (sentAt >= measureFrom && finishedAt <= measureUntil) {
+                            stats.record(route, status, finishedAt - sentAt);
+                        }
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+
+        ObjectNode report = MAPPER.createObjectNode();
+        report.put("employees", settings.employees());
+        report.put("clients", settings.clients());
+        report.put("durationSeconds", settings.durationSeconds());
+        ObjectNode byRoute = report.putObject("routes");
+        for (int i = 0; i < routes.size(); i++) {
+            Histogram merged = new Histogram(3);
+            long errors = 0;
+            for (ClientStats client : clients) {
+                merged.add(client.latencies[i]);
+                errors += client.errors[i];
+            }
+            ObjectNode node = byRoute.putObject(routes.get(i).name());
+            node.put("requests", merged.getTotalCount());
+            node.put("errors", errors);
+            node.put("errorRate", errorRate(node));
+            node.put("throughput", merged.getTotalCount() / (double) settings.durationSeconds());
+            node.put("p50Ms", merged.getValueAtPercentile(50.0) / 1000.0);
+            node.put("p99Ms", merged.getValueAtPercentile(99.0) / 1000.0);
+            node.put("p999Ms", merged.getValueAtPercentile(99.9) / 1000.0);
+            node.put("maxMs", merged.getMaxValue() / 1000.0);
+        }
+        return report;
+    }
+
+    private static List<Route> routes(Map<String, Integer> mix, String baseUrl, String token, Fixtures fixtures) {
+        Map<String, Function<Random, HttpRequest>> catalog = new LinkedHashMap<>();
+        catalog.put("profile", random -> get(baseUrl + "/employees/profile", token));
+        catalog.put("employee", random -> get(baseUrl + "/employees/" + fixtures.employee(random), token));
+        catalog.put("employees-page", random -> get(baseUrl + "/employees/page?size=50", token));
+        catalog.put("employees-page-fields", random -> get(baseUrl + "/employees/page?fields=id,name&size=50", token));
+        catalog.put("department-employees-page",
+                random -> get(baseUrl + "/employees/department/" + fixtures.department(random) + "/page?size=50", token));
+        catalog.put("subtree", random -> get(baseUrl + "/employees/" + fixtures.head(random) + "/subtree?size=50", token));
+        catalog.put("reports", random -> get(baseUrl + "/employees/manager/" + fixtures.head(random), token));
+        catalog.put("departments", random -> get(baseUrl + "/departments", token));
+        catalog.put("department", random -> get(baseUrl + "/departments/" + fixtures.department(random), token));
+        catalog.put("login", random -> post(baseUrl + "/auth/login", CEO_LOGIN));
+
+        List<Route> routes = new ArrayList<>();
+        mix.forEach((name, weight) -> {
+            Function<Random, HttpRequest> request = catalog.get(name);
+            if (request == null) {
+                throw new IllegalArgumentException("Unknown route '" + name + "', expected one of " + catalog.keySet());
+            }
+            routes.add(new Route(name, weight, request));
+        });
+        return routes;
+    }
+
+    static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            int weight = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1;
+            if (weight > 0) {
+                weights.put(parts[0].trim(), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Load mix is empty");
+        }
+        return weights;
+    }
+
+    static List<String> regressions(JsonNode baseline, JsonNode current, double maxRegression) {
+        List<String> regressions = new ArrayList<>();
+        current.get("routes").fields().forEachRemaining(entry -> {
+            JsonNode before = baseline.path("routes").get(entry.getKey());
+            if (before == null) {
+                return;
+            }
+            JsonNode after = entry.getValue();
+            double p99Before = before.get("p99Ms").asDouble();
+            double p99After = after.get("p99Ms").asDouble();
+            if (p99After > p99Before * (1 + maxRegression)) {
+                regressions.add(String.format("REGRESSION %s p99 %.2f ms -> %.2f ms", entry.getKey(), p99Before, p99After));
+            }
+            // Failed requests are left out of the histograms, so a route that starts failing could otherwise pass
+            long errorsBefore = before.path("errors").asLong();
+            long errorsAfter = after.path("errors").asLong();
+            double errorRateBefore = errorRate(before);
+            double errorRateAfter = errorRate(after);
+            if (errorsAfter > errorsBefore || errorRateAfter > errorRateBefore) {
+                regressions.add(String.format("REGRESSION %s errors %d (%.2f%%) -> %d (%.2f%%)", entry.getKey(),
+                        errorsBefore, errorRateBefore * 100, errorsAfter, errorRateAfter * 100));
+            }
+            double throughputBefore = before.get("throughput").asDouble();
+            double throughputAfter = after.get("throughput").asDouble();
+            if (throughputAfter < throughputBefore * (1 - maxRegression)) {
+                regressions.add(String.format("REGRESSION %s throughput %.1f -> %.1f req/s",
+                        entry.getKey(), throughputBefore, throughputAfter));
+            }
+        });
+        return regressions;
+    }
+
+    // Share of a route's measured requests that did not return 200
+    private static double errorRate(JsonNode route) {
+        long errors = route.path("errors").asLong();
+        long attempts = route.path("requests").asLong() + errors;
+        return attempts == 0 ? 0 : errors / (double) attempts;
+    }
+
+    private static void printReport(JsonNode report) {
+        System.out.printf("%-28s %10s %8s %10s %10s %10s %10s%n",
+                "route", "req/s", "errors", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        report.get("routes").fields().forEachRemaining(entry -> {
+            JsonNode stats = entry.getValue();
+            System.out.printf("%-28s %10.1f %8d %10.2f %10.2f %10.2f %10.2f%n", entry.getKey(),
+                    stats.get("throughput").asDouble(), stats.get("errors").asLong(), stats.get("p50Ms").asDouble(),
+                    stats.get("p99Ms").asDouble(), stats.get("p999Ms").asDouble(), stats.get("maxMs").asDouble());
+        });
+    }
+
+    private static int pick(int[] cumulativeWeights, int ticket) {
+        int i = 0;
+        while (ticket >= cumulativeWeights[i]) {
+            i++;
+        }
+        return i;
+    }
+
+    static HttpRequest get(String url, String token) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    private static HttpRequest post(String url, String json) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    static String sendForBody(HttpClient http, HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(request.uri() + " returned " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    private static int send(HttpClient http, HttpRequest request) {
+        try {
+            return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    private record Route(String name, int weight, Function<Random, HttpRequest> requests) {
+
+        HttpRequest request(Random random) {
+            return requests.apply(random);
+        }
+    }
+
+    // Ids sampled from the seeded org so requests spread across rows instead of hitting one
+    record Fixtures(long[] employees, long[] departments, long[] heads) {
+
+        static Fixtures load(HttpClient http, String baseUrl, String token) throws IOException, InterruptedException {
+            JsonNode page = MAPPER.readTree(sendForBody(http, get(baseUrl + "/employees/page?size=500", token)));
+            List<Long> employees = new ArrayList<>();
+            page.get("items").forEach(item -> employees.add(item.get("id").asLong()));
+
+            JsonNode departmentList = MAPPER.readTree(sendForBody(http, get(baseUrl + "/departments", token)));
+            List<Long> departments = new ArrayList<>();
+            List<Long> heads = new ArrayList<>();
+            departmentList.forEach(department -> {
+                departments.add(department.get("id").asLong());
+                if (department.hasNonNull("headId")) {
+                    heads.add(department.get("headId").asLong());
+                }
+            });
+            return new Fixtures(toArray(employees), toArray(departments), toArray(heads));
+        }
+
+        long employee(Random random) {
+            return employees[random.nextInt(employees.length)];
+        }
+
+        long department(Random random) {
+            return departments[random.nextInt(departments.length)];
+        }
+
+        long head(Random random) {
+            return heads[random.nextInt(heads.length)];
+        }
+
+        private static long[] toArray(List<Long> values) {
+            return values.stream().mapToLong(Long::longValue).toArray();
+        }
+    }
+
+    private static final class ClientStats {
+
+        private final Histogram[] latencies;
+        private final long[] errors;
+
+        ClientStats(int routes) {
+            latencies = new Histogram[routes];
+            errors = new long[routes];
+            for (int i = 0; i < routes; i++) {
+                latencies[i] = new Histogram(3);
+            }
+        }
+
+        // Latencies are kept in microseconds
+        void record(int route, int status, long latencyNanos) {
+            if (status != 200) {
+                errors[route]++;
+                return;
+            }
+            latencies[route].recordValue(Math.max(1, latencyNanos / 1000));
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.hrms.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares throughput and tail latency of the employee read endpoints with Tomcat on its default
+ * platform-thread pool and with the {@code virtual-threads} profile. Each mode runs in a fresh JVM so
+ * JIT and heap state do not carry over, and the combined result is written as JSON.
+ * <p>
+ * Load is driven by {@link LoadTestHarness}. Settings are system properties: {@code bench.employees},
+ * {@code bench.departments}, {@code bench.clients}, {@code bench.warmup-seconds},
+ * {@code bench.duration-seconds} and {@code bench.result}.
+ */
+public class ThreadModeBenchmark {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final List<String> MODES = List.of("platform", "virtual");
+    private static final String EMPLOYEE_READ_MIX = "profile=1,employee=1,employees-page=1,reports=1";
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 2) {
+            runMode(args[0], Path.of(args[1]));
+            return;
+        }
+
+        Path result = Path.of(System.getProperty("bench.result", "target/thread-mode-benchmark.json"));
+        ObjectNode combined = MAPPER.createObjectNode();
+        for (String mode : MODES) {
+            Path modeResult = Files.createTempFile("thread-mode-" + mode, ".json");
+            fork(mode, modeResult);
+            combined.set(mode, MAPPER.readTree(modeResult.toFile()));
+            Files.delete(modeResult);
+        }
+
+        Files.createDirectories(result.toAbsolutePath().getParent());
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(result.toFile(), combined);
+        printComparison(combined);
+        System.out.println("Results written to " + result.toAbsolutePath());
+    }
+
+    private static void fork(String mode, Path modeResult) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (name.startsWith("bench.")) {
+                command.add("-D" + name + "=" + System.getProperty(name));
+            }
+        }
+        if ("virtual".equals(mode)) {
+            // Any carrier pinning in the JDBC path is printed with its stack
+            command.add("-Djdk.tracePinnedThreads=short");
+        }
+        command.add("-classpath");
+        command.add(System.getProperty("java.class.path"));
+        command.add(ThreadModeBenchmark.class.getName());
+        command.add(mode);
+        command.add(modeResult.toString());
+
+        Process process = new ProcessBuilder(command).inheritIO().start();
+        if (process.waitFor() != 0) {
+            throw new IllegalStateException("Benchmark run for " + mode + " threads failed");
+        }
+    }
+
+    private static void runMode(String mode, Path result) throws Exception {
+        LoadTestHarness.Settings settings = new LoadTestHarness.Settings(
+                Integer.getInteger("bench.employees", 10_000),
+                Integer.getInteger("bench.departments", 20),
+                Integer.getInteger("bench.clients", 64),
+                Long.getLong("bench.warmup-seconds", 10),
+                Long.getLong("bench.duration-seconds", 30),
+                LoadTestHarness.parseMix(EMPLOYEE_READ_MIX));
+
+        ObjectNode report = "virtual".equals(mode)
+                ? LoadTestHarness.run(settings, "virtual-threads")
+                : LoadTestHarness.run(settings);
+        report.put("mode", mode);
+        MAPPER.writeValue(result.toFile(), report);
+    }
+
+    private static void printComparison(JsonNode combined) {
+        System.out.printf("%-28s %-9s %12s %10s %10s%n", "endpoint", "threads", "req/s", "p50 ms", "p99 ms");
+        combined.get(MODES.get(0)).get("routes").fieldNames().forEachRemaining(name -> {
+            for (String mode : MODES) {
+                JsonNode stats = combined.get(mode).get("routes").get(name);
+                System.out.printf("%-28s %-9s %12.1f %10.2f %10.2f%n", name, mode,
+                        stats.get("throughput").asDouble(), stats.get("p50Ms").asDouble(),
+                        stats.get("p99Ms").asDouble());
+            }
+        });
+    }
+}
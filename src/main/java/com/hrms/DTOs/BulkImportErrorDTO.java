@@ -0,0 +1,19 @@
+package com.hrms.DTOs;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class BulkImportErrorDTO {
+
+    private int line;
+
+    private String email;
+
+    private String message;
+}
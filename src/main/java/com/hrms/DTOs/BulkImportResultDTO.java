@@ -0,0 +1,21 @@
+package com.hrms.DTOs;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class BulkImportResultDTO {
+
+    private int totalRows;
+
+    private int importedCount;
+
+    private List<BulkImportErrorDTO> errors;
+}
@@ -0,0 +1,23 @@
+package com.hrms.DTOs;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class CursorPageDTO<T> {
+
+    private List<T> items;
+
+    private int size;
+
+    private String nextCursor;
+
+    private boolean hasMore;
+}
@@ -0,0 +1,26 @@
+package com.hrms.DTOs;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class EmployeeChangesDTO {
+
+    private List<EmployeeDTO> employees;
+
+    private List<DepartmentDTO> departments;
+
+    private List<Long> deletedEmployeeIds;
+
+    // Pass as since on the next call; returned even when nothing changed
+    private String nextToken;
+
+    private boolean hasMore;
+}
@@ -0,0 +1,23 @@
+package com.hrms.DTOs;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class EmployeeSearchResultDTO {
+
+    private Long id;
+
+    private String name;
+
+    private String email;
+
+    private Long departmentId;
+
+    private double score;
+}
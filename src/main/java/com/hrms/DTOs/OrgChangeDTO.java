@@ -0,0 +1,42 @@
+package com.hrms.DTOs;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class OrgChangeDTO {
+
+    // Same as the SSE id field; pass it back as Last-Event-ID to resume after this change
+    private String eventId;
+
+    // "employee" or "department"
+    private String entity;
+
+    private String type;
+
+    private Long id;
+
+    private String name;
+
+    private String email;
+
+    private Long departmentId;
+
+    private Long managerId;
+
+    private Long headId;
+
+    private Boolean ceo;
+
+    // Rows covered by an IMPORTED change, which stands in for one event per imported employee
+    private Integer count;
+
+    private Instant committedAt;
+}
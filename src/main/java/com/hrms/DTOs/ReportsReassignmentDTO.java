@@ -0,0 +1,19 @@
+package com.hrms.DTOs;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class ReportsReassignmentDTO {
+
+    private Long fromManagerId;
+
+    private Long toManagerId;
+
+    private int reassignedCount;
+}
@@ -1,147 +1,157 @@
 package com.hrms.config;
 
 import com.hrms.model.Department;
-import com.hrms.model.Employee;
 import com.hrms.repository.DepartmentRepository;
 import com.hrms.repository.EmployeeRepository;
+import com.hrms.sync.ChangeSequence;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
-
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Seeds a synthetic org sized by {@code hrms.seed.*}. Employees are written with plain JDBC batches and
+ * share one precomputed password hash, so even 100k employees load in seconds. Disabled with
+ * {@code hrms.seed.enabled=false}, which the prod profile sets.
+ */
 @Component
+@ConditionalOnProperty(prefix = "hrms.seed", name = "enabled", havingValue = "true")
 public class DataInitializer implements CommandLineRunner {
 
+    private static final Logger log = LoggerFactory.getLogger(DataInitializer.class);
+
+    private static final String EMPLOYEE_SEQUENCE = "employees_seq";
+    // Must match the allocationSize of Employee's sequence generator
+    private static final int EMPLOYEE_ID_ALLOCATION = 50;
+    private static final int INSERT_BATCH_SIZE = 1000;
+
+    private static final String INSERT_EMPLOYEE = "INSERT INTO employees " +
+            "(id, version, name, email, password, role, department_id, manager_id, is_ceo, is_dept_head, change_seq) " +
+            "VALUES (?, 0, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
     private final EmployeeRepository employeeRepository;
     private final DepartmentRepository departmentRepository;
     private final PasswordEncoder passwordEncoder;
-
-    public DataInitializer(EmployeeRepository employeeRepository, 
-                         DepartmentRepository departmentRepository,
-                         PasswordEncoder passwordEncoder) {
+    private final JdbcTemplate jdbcTemplate;
+    private final Dialect dialect;
+    private final SessionFactoryImplementor sessionFactory;
+    private final SyntheticOrgGenerator.Spec spec;
+    private final String password;
+    private final ChangeSequence changeSequence;
+
+    public DataInitializer(EmployeeRepository employeeRepository,
+                           DepartmentRepository departmentRepository,
+                           PasswordEncoder passwordEncoder,
+                           JdbcTemplate jdbcTemplate,
+                           EntityManagerFactory entityManagerFactory,
+                           ChangeSequence changeSequence,
+                           @Value("${hrms.seed.employees:9}") int employees,
+                           @Value("${hrms.seed.departments:3}") int departments,
+                           @Value("${hrms.seed.max-depth:4}") int maxDepth,
+                           @Value("${hrms.seed.fan-out-min:1}") int minFanOut,
+                           @Value("${hrms.seed.fan-out-max:5}") int maxFanOut,
+                           @Value("${hrms.seed.random-seed:42}") long randomSeed,
+                           @Value("${hrms.seed.password:password}") String password) {
         this.employeeRepository = employeeRepository;
         this.departmentRepository = departmentRepository;
         this.passwordEncoder = passwordEncoder;
+        this.jdbcTemplate = jdbcTemplate;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.dialect = sessionFactory.getJdbcServices().getDialect();
+        this.spec = new SyntheticOrgGenerator.Spec(employees, departments, maxDepth, minFanOut, maxFanOut, randomSeed);
+        this.password = password;
+        this.changeSequence = changeSequence;
     }
 
     @Override
-    public void run(String... args) throws Exception {
-        Employee ceo = new Employee();
-        ceo.setName("John CEO");
-        ceo.setEmail("ceo@company.com");
-        ceo.setPassword(passwordEncoder.encode("password"));
-        ceo.setRole(Employee.UserRole.ADMIN);
-        ceo.setCeo(true);
-        ceo.setDeptHead(false);
-        ceo.setDepartment(null);
-        ceo.setManager(null);
-        employeeRepository.save(ceo);
-
-        Department engineering = new Department();
-        engineering.setName("Engineering");
-        engineering.setDescription("Software Development Team");
-        departmentRepository.save(engineering);
-
-        Department marketing = new Department();
-        marketing.setName("Marketing");
-        marketing.setDescription("Marketing and Sales Team");
-        departmentRepository.save(marketing);
-
-        Department hr = new Department();
-        hr.setName("Human Resources");
-        hr.setDescription("HR and Recruitment Team");
-        departmentRepository.save(hr);
-
-        Employee engHead = new Employee();
-        engHead.setName("Alice Engineering");
-        engHead.setEmail("eng.head@company.com");
-        engHead.setPassword(passwordEncoder.encode("password"));
-        engHead.setRole(Employee.UserRole.ADMIN);
-        engHead.setCeo(false);
-        engHead.setDeptHead(true);
-        engHead.setDepartment(engineering);
-        engHead.setManager(ceo);
-        employeeRepository.save(engHead);
-
-        Employee marketingHead = new Employee();
-        marketingHead.setName("Bob Marketing");
-        marketingHead.setEmail("marketing.head@company.com");
-        marketingHead.setPassword(passwordEncoder.encode("password"));
-        marketingHead.setRole(Employee.UserRole.ADMIN);
-        marketingHead.setCeo(false);
-        marketingHead.setDeptHead(true);
-        marketingHead.setDepartment(marketing);
-        marketingHead.setManager(ceo);
-        employeeRepository.save(marketingHead);
-
-        Employee hrHead = new Employee();
-        hrHead.setName("Carol HR");
-        hrHead.setEmail("hr.head@company.com");
-        hrHead.setPassword(passwordEncoder.encode("password"));
-        hrHead.setRole(Employee.UserRole.ADMIN);
-        hrHead.setCeo(false);
-        hrHead.setDeptHead(true);
-        hrHead.setDepartment(hr);
-        hrHead.setManager(ceo);
-        employeeRepository.save(hrHead);
-
-        engineering.setHead(engHead);
-        marketing.setHead(marketingHead);
-        hr.setHead(hrHead);
-        departmentRepository.save(engineering);
-        departmentRepository.save(marketing);
-        departmentRepository.save(hr);
-
-        Employee dev1 = new Employee();
-        dev1.setName("David Developer");
-        dev1.setEmail("dev1@company.com");
-        dev1.setPassword(passwordEncoder.encode("password"));
-        dev1.setRole(Employee.UserRole.EMPLOYEE);
-        dev1.setCeo(false);
-        dev1.setDeptHead(false);
-        dev1.setDepartment(engineering);
-        dev1.setManager(engHead);
-        employeeRepository.save(dev1);
-
-        Employee dev2 = new Employee();
-        dev2.setName("Eve Engineer");
-        dev2.setEmail("dev2@company.com");
-        dev2.setPassword(passwordEncoder.encode("password"));
-        dev2.setRole(Employee.UserRole.EMPLOYEE);
-        dev2.setCeo(false);
-        dev2.setDeptHead(false);
-        dev2.setDepartment(engineering);
-        dev2.setManager(engHead);
-        employeeRepository.save(dev2);
-
-        Employee marketer1 = new Employee();
-        marketer1.setName("Frank Marketer");
-        marketer1.setEmail("marketer1@company.com");
-        marketer1.setPassword(passwordEncoder.encode("password"));
-        marketer1.setRole(Employee.UserRole.EMPLOYEE);
-        marketer1.setCeo(false);
-        marketer1.setDeptHead(false);
-        marketer1.setDepartment(marketing);
-        marketer1.setManager(marketingHead);
-        employeeRepository.save(marketer1);
-
-        Employee hrStaff = new Employee();
-        hrStaff.setName("Grace HR");
-        hrStaff.setEmail("hr.staff@company.com");
-        hrStaff.setPassword(passwordEncoder.encode("password"));
-        hrStaff.setRole(Employee.UserRole.EMPLOYEE);
-        hrStaff.setCeo(false);
-        hrStaff.setDeptHead(false);
-        hrStaff.setDepartment(hr);
-        hrStaff.setManager(hrHead);
-        employeeRepository.save(hrStaff);
+    @Transactional
+    public void run(String... args) {
+        if (employeeRepository.existsByIsCeoTrue()) {
+            log.info("Skipping seed data: an org already exists");
+            return;
+        }
+
+        long started = System.currentTimeMillis();
+        SyntheticOrgGenerator.Org org = SyntheticOrgGenerator.generate(spec);
+
+        long[] departmentIds = new long[org.departments().size()];
+        for (int d = 0; d < departmentIds.length; d++) {
+            SyntheticOrgGenerator.DepartmentSeed seed = org.departments().get(d);
+            Department department = new Department();
+            department.setName(seed.name());
+            department.setDescription(seed.description());
+            departmentIds[d] = departmentRepository.save(department).getId();
+        }
+
+        String passwordHash = passwordEncoder.encode(password);
+        // The JDBC writes skip the entity listener, so they share one change sequence value
+        long seedSequence = changeSequence.next();
+        long[] employeeIds = reserveEmployeeIds(org.employees().size());
+        List<Object[]> rows = new ArrayList<>(INSERT_BATCH_SIZE);
+        List<Object[]> heads = new ArrayList<>(departmentIds.length);
+        for (int i = 0; i < employeeIds.length; i++) {
+            SyntheticOrgGenerator.EmployeeSeed seed = org.employees().get(i);
+            rows.add(new Object[]{
+                    employeeIds[i], seed.name(), seed.email(), passwordHash, seed.role().name(),
+                    seed.department() >= 0 ? departmentIds[seed.department()] : null,
+                    seed.manager() >= 0 ? employeeIds[seed.manager()] : null,
+                    seed.ceo(), seed.deptHead(), seedSequence});
+            if (seed.deptHead()) {
+                heads.add(new Object[]{employeeIds[i], seedSequence, departmentIds[seed.department()]});
+            }
+            if (rows.size() == INSERT_BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(INSERT_EMPLOYEE, rows);
+                rows.clear();
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_EMPLOYEE, rows);
+        }
+        jdbcTemplate.batchUpdate(
+                "UPDATE departments SET head_id = ?, version = version + 1, change_seq = ? WHERE id = ?", heads);
+
+        // The JDBC writes bypass Hibernate, so the departments it cached on insert and the CEO lookup are
+        // stale. Clear them once the commit has also run Hibernate's own after-insert cache puts.
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                sessionFactory.getCache().evictAllRegions();
+            }
+        });
+
+        log.info("Seeded {} employees in {} departments in {} ms; sign in as {} with the password from hrms.seed.password",
+                employeeIds.length, departmentIds.length, System.currentTimeMillis() - started,
+                SyntheticOrgGenerator.CEO_EMAIL);
+    }
 
-        System.out.println("Sample data initialized successfully!");
-        System.out.println("CEO: ceo@company.com / password");
-        System.out.println("Engineering Head: eng.head@company.com / password");
-        System.out.println("Marketing Head: marketing.head@company.com / password");
-        System.out.println("HR Head: hr.head@company.com / password");
-        System.out.println("Developer: dev1@company.com / password");
-        System.out.println("Marketer: marketer1@company.com / password");
-        System.out.println("HR Staff: hr.staff@company.com / password");
+    /**
+     * Takes ids from the same sequence Hibernate uses. Each sequence value v stands for the block
+     * (v - allocation, v], the way Hibernate's pooled optimizer reads it, so later inserts through JPA
+     * never collide with seeded rows.
+     */
+    private long[] reserveEmployeeIds(int count) {
+        String nextValue = dialect.getSequenceSupport().getSequenceNextValString(EMPLOYEE_SEQUENCE);
+        long[] ids = new long[count];
+        int filled = 0;
+        while (filled < count) {
+            long hi = jdbcTemplate.queryForObject(nextValue, Long.class);
+            for (long id = Math.max(1, hi - EMPLOYEE_ID_ALLOCATION + 1); id <= hi && filled < count; id++) {
+                ids[filled++] = id;
+            }
+        }
+        return ids;
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,93 @@
+package com.hrms.config;
+
+import com.hrms.datasource.H2SnapshotReplicator;
+import com.hrms.datasource.ReplicaLagMonitor;
+import com.hrms.datasource.ReplicaRoutingDataSource;
+import com.hrms.datasource.ReplicaTransactionListener;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Sends read-only transactions to a replica pool and everything else to the primary. The application
+ * {@link DataSource} is a {@link LazyConnectionDataSourceProxy}: it fetches a real connection at the first
+ * statement, when the transaction's read-only flag is already set, and takes read-only connections from
+ * {@link ReplicaRoutingDataSource}. That falls back to the primary while the replica is further behind than
+ * {@code hrms.datasource.replica.max-lag-ms}. Disabled unless {@code hrms.datasource.replica.enabled=true};
+ * the replica profile turns it on with a second in-memory H2 database.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "hrms.datasource.replica", name = "enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("hrms.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Value("${hrms.datasource.replica.url}") String url,
+                                              @Value("${hrms.datasource.replica.username:}") String username,
+                                              @Value("${hrms.datasource.replica.password:}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create().type(HikariDataSource.class)
+                .url(url).username(username).password(password).build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("primaryDataSource") DataSource primary,
+                                               @Qualifier("replicaDataSource") DataSource replica,
+                                               MeterRegistry meterRegistry,
+                                               @Value("${hrms.datasource.replica.max-lag-ms:2000}") long maxLagMillis,
+                                               @Value("${hrms.datasource.replica.heartbeat-interval-ms:100}") long heartbeatIntervalMillis) {
+        return new ReplicaLagMonitor(primary, replica, meterRegistry, maxLagMillis, heartbeatIntervalMillis);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReplicaLagMonitor lagMonitor, MeterRegistry meterRegistry) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(new ReplicaRoutingDataSource(primary, replica, lagMonitor, meterRegistry));
+        return dataSource;
+    }
+
+    // Registered with the auto-configured transaction manager like any TransactionExecutionListener bean
+    @Bean
+    public ReplicaTransactionListener replicaTransactionListener(ReplicaLagMonitor lagMonitor,
+                                                                 EntityManagerFactory entityManagerFactory) {
+        return new ReplicaTransactionListener(lagMonitor, entityManagerFactory);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "hrms.datasource.replica.snapshot-sync", name = "enabled", havingValue = "true")
+    public H2SnapshotReplicator h2SnapshotReplicator(DataSourceProperties properties,
+                                                     @Value("${hrms.datasource.replica.url}") String replicaUrl,
+                                                     @Value("${hrms.datasource.replica.username:}") String replicaUsername,
+                                                     @Value("${hrms.datasource.replica.password:}") String replicaPassword,
+                                                     @Value("${hrms.datasource.replica.snapshot-sync.interval-ms:500}") long intervalMillis,
+                                                     MeterRegistry meterRegistry) {
+        return new H2SnapshotReplicator(properties.determineUrl(), properties.determineUsername(),
+                properties.determinePassword(), replicaUrl, replicaUsername, replicaPassword, intervalMillis,
+                meterRegistry);
+    }
+}
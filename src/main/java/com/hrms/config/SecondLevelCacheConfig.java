@@ -0,0 +1,97 @@
+package com.hrms.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.hrms.repository.EmployeeRepository;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local Hibernate second-level cache on Caffeine through JCache. Departments and employees are cached
+ * READ_WRITE, so Hibernate updates or invalidates entries on every write that goes through the session
+ * and on bulk JPQL updates. Each region has its own size limit and time to live, and hit, miss and put
+ * counts are published per region through the Hibernate Micrometer metrics. Disabled with
+ * {@code hrms.cache.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "hrms.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SecondLevelCacheConfig {
+
+    public static final String DEPARTMENT_REGION = "departments";
+    public static final String EMPLOYEE_REGION = "employees";
+
+    private final long departmentMaxSize;
+    private final long departmentTtlSeconds;
+    private final long employeeMaxSize;
+    private final long employeeTtlSeconds;
+    private final long queryMaxSize;
+    private final long queryTtlSeconds;
+
+    public SecondLevelCacheConfig(@Value("${hrms.cache.departments.max-size:1000}") long departmentMaxSize,
+                                  @Value("${hrms.cache.departments.ttl-seconds:3600}") long departmentTtlSeconds,
+                                  @Value("${hrms.cache.employees.max-size:20000}") long employeeMaxSize,
+                                  @Value("${hrms.cache.employees.ttl-seconds:600}") long employeeTtlSeconds,
+                                  @Value("${hrms.cache.queries.max-size:1000}") long queryMaxSize,
+                                  @Value("${hrms.cache.queries.ttl-seconds:600}") long queryTtlSeconds) {
+        this.departmentMaxSize = departmentMaxSize;
+        this.departmentTtlSeconds = departmentTtlSeconds;
+        this.employeeMaxSize = employeeMaxSize;
+        this.employeeTtlSeconds = employeeTtlSeconds;
+        this.queryMaxSize = queryMaxSize;
+        this.queryTtlSeconds = queryTtlSeconds;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, createCacheManager());
+            // Every region is sized here; a region missing from this list is a startup error, not an unbounded cache
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.FAIL.getExternalRepresentation());
+        };
+    }
+
+    // Hibernate closes the manager when the session factory shuts down
+    private CacheManager createCacheManager() {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+        createRegion(cacheManager, DEPARTMENT_REGION, departmentMaxSize, departmentTtlSeconds);
+        createRegion(cacheManager, EMPLOYEE_REGION, employeeMaxSize, employeeTtlSeconds);
+        createRegion(cacheManager, EmployeeRepository.REFERENCE_QUERY_REGION, queryMaxSize, queryTtlSeconds);
+        createRegion(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, queryMaxSize,
+                queryTtlSeconds);
+        // Update timestamps must outlive every cached query result, so this region is neither bounded nor expired
+        createRegion(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, 0, 0);
+        return cacheManager;
+    }
+
+    private static void createRegion(CacheManager cacheManager, String name, long maxSize, long ttlSeconds) {
+        if (cacheManager.getCache(name) != null) {
+            cacheManager.destroyCache(name);
+        }
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStatisticsEnabled(true);
+        if (maxSize > 0) {
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+        }
+        if (ttlSeconds > 0) {
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        }
+        cacheManager.createCache(name, configuration);
+    }
+}
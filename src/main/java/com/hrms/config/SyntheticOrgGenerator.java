@@ -0,0 +1,121 @@
+package com.hrms.config;
+
+import com.hrms.model.Employee;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds a valid org of any size in memory: one CEO, one head per department reporting to the CEO,
+ * and everyone else reporting to someone in their own department. Employees are listed so that every
+ * manager comes before their reports, which lets them be inserted in order.
+ */
+public final class SyntheticOrgGenerator {
+
+    public static final String CEO_EMAIL = "ceo@company.com";
+
+    private static final String[][] NAMED_DEPARTMENTS = {
+            {"Engineering", "Software Development Team", "Alice Engineering", "eng.head@company.com"},
+            {"Marketing", "Marketing and Sales Team", "Bob Marketing", "marketing.head@company.com"},
+            {"Human Resources", "HR and Recruitment Team", "Carol HR", "hr.head@company.com"}
+    };
+
+    private SyntheticOrgGenerator() {
+    }
+
+    /**
+     * @param maxDepth longest chain from the CEO (depth 0) down to a leaf; heads sit at depth 1
+     */
+    public record Spec(int employees, int departments, int maxDepth, int minFanOut, int maxFanOut, long randomSeed) {
+    }
+
+    public record DepartmentSeed(String name, String description) {
+    }
+
+    /** Department and manager are positions in the generated lists, or -1 for none. */
+    public record EmployeeSeed(String name, String email, Employee.UserRole role, int department, int manager,
+                               boolean ceo, boolean deptHead) {
+    }
+
+    public record Org(List<DepartmentSeed> departments, List<EmployeeSeed> employees) {
+    }
+
+    public static Org generate(Spec spec) {
+        validate(spec);
+        Random random = new Random(spec.randomSeed());
+        List<DepartmentSeed> departments = new ArrayList<>(spec.departments());
+        List<EmployeeSeed> employees = new ArrayList<>(spec.employees());
+
+        employees.add(new EmployeeSeed("John CEO", CEO_EMAIL, Employee.UserRole.ADMIN, -1, -1, true, false));
+        for (int d = 0; d < spec.departments(); d++) {
+            String[] named = d < NAMED_DEPARTMENTS.length ? NAMED_DEPARTMENTS[d] : null;
+            departments.add(named != null
+                    ? new DepartmentSeed(named[0], named[1])
+                    : new DepartmentSeed("Department " + d, "Generated department " + d));
+            employees.add(named != null
+                    ? new EmployeeSeed(named[2], named[3], Employee.UserRole.ADMIN, d, 0, false, true)
+                    : new EmployeeSeed("Head of Department " + d, "head" + d + "@company.com",
+                            Employee.UserRole.ADMIN, d, 0, false, true));
+        }
+
+        int staff = spec.employees() - 1 - spec.departments();
+        for (int d = 0; d < spec.departments(); d++) {
+            int quota = staff / spec.departments() + (d < staff % spec.departments() ? 1 : 0);
+            fillDepartment(spec, random, employees, d, 1 + d, quota);
+        }
+        return new Org(departments, employees);
+    }
+
+    // Breadth-first: each manager takes a random fan-out of reports until the quota is met. Once the depth
+    // limit stops the tree growing downwards, the remaining staff are spread across existing managers.
+    private static void fillDepartment(Spec spec, Random random, List<EmployeeSeed> employees, int department,
+                                       int head, int quota) {
+        Deque<int[]> frontier = new ArrayDeque<>();
+        List<int[]> managers = new ArrayList<>();
+        int[] headNode = {head, 1};
+        frontier.add(headNode);
+        managers.add(headNode);
+
+        int placed = 0;
+        int overflow = 0;
+        while (placed < quota) {
+            int[] manager;
+            int reports;
+            if (!frontier.isEmpty()) {
+                manager = frontier.poll();
+                reports = Math.min(quota - placed,
+                        spec.minFanOut() + random.nextInt(spec.maxFanOut() - spec.minFanOut() + 1));
+            } else {
+                manager = managers.get(overflow++ % managers.size());
+                reports = 1;
+            }
+            for (int r = 0; r < reports; r++) {
+                int index = employees.size();
+                employees.add(new EmployeeSeed("Employee " + index, "employee" + index + "@company.com",
+                        Employee.UserRole.EMPLOYEE, department, manager[0], false, false));
+                placed++;
+                if (manager[1] + 1 < spec.maxDepth()) {
+                    int[] node = {index, manager[1] + 1};
+                    frontier.add(node);
+                    managers.add(node);
+                }
+            }
+        }
+    }
+
+    private static void validate(Spec spec) {
+        if (spec.departments() < 0 || spec.employees() < 1 + spec.departments()) {
+            throw new IllegalStateException("Seed needs at least one employee per department plus the CEO");
+        }
+        int staff = spec.employees() - 1 - spec.departments();
+        if (staff > 0 && (spec.departments() == 0 || spec.maxDepth() < 2)) {
+            throw new IllegalStateException("Seed staff need at least one department and a max depth of 2");
+        }
+        if (spec.minFanOut() < 1 || spec.maxFanOut() < spec.minFanOut()) {
+            throw new IllegalStateException("Seed fan-out must satisfy 1 <= min <= max");
+        }
+    }
+}
@@ -8,9 +8,12 @@ import com.hrms.service.DepartmentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -18,6 +21,8 @@ import java.util.List;
 @RequestMapping("/api/v1/departments")
 public class DepartmentController {
 
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final DepartmentService departmentService;
 
     public DepartmentController(DepartmentService departmentService) {
@@ -48,9 +53,11 @@ public class DepartmentController {
             @Parameter(description = "Department ID", required = true, example = "1")
             @PathVariable Long id,
             @Parameter(description = "Department update data (all fields required)", required = true)
-            @Valid @RequestBody DepartmentUpdateDTO departmentUpdateDTO
+            @Valid @RequestBody DepartmentUpdateDTO departmentUpdateDTO,
+            @Parameter(description = "ETag from a previous GET; the update is rejected with 412 if the department has changed since")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
-        DepartmentDTO updatedDepartment = departmentService.updateDepartment(id, departmentUpdateDTO);
+        DepartmentDTO updatedDepartment = departmentService.updateDepartment(id, departmentUpdateDTO, ifMatch);
         return ResponseEntity.ok(updatedDepartment);
     }
 
@@ -64,32 +71,42 @@ public class DepartmentController {
             @Parameter(description = "Department ID", required = true, example = "1")
             @PathVariable Long id,
             @Parameter(description = "Department patch data (only fields to update)", required = true)
-            @RequestBody DepartmentPatchDTO departmentPatchDTO
+            @RequestBody DepartmentPatchDTO departmentPatchDTO,
+            @Parameter(description = "ETag from a previous GET; the update is rejected with 412 if the department has changed since")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
-        DepartmentDTO patchedDepartment = departmentService.patchDepartment(id, departmentPatchDTO);
+        DepartmentDTO patchedDepartment = departmentService.patchDepartment(id, departmentPatchDTO, ifMatch);
         return ResponseEntity.ok(patchedDepartment);
     }
 
     @GetMapping("/{id}")
     @Operation(
             summary = "Get Department by ID",
-            description = "Retrieves department details by ID. All authenticated users can view department information."
+            description = "Retrieves department details by ID. All authenticated users can view department information. Returns an ETag; send it back in If-None-Match to get 304 Not Modified while nothing shown has changed."
     )
     public ResponseEntity<DepartmentDTO> getDepartment(
             @Parameter(description = "Department ID", required = true, example = "1")
-            @PathVariable Long id
+            @PathVariable Long id,
+            WebRequest webRequest
     ) {
+        if (webRequest.checkNotModified(departmentService.getDepartmentETag(id))) {
+            return null;
+        }
         DepartmentDTO department = departmentService.getDepartment(id);
-        return ResponseEntity.ok(department);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(department);
     }
 
     @GetMapping
     @Operation(
             summary = "Get All Departments",
-            description = "Retrieves all departments in the organization. All authenticated users can access this endpoint."
+            description = "Retrieves all departments in the organization. All authenticated users can access this endpoint. Supports If-None-Match like Get Department by ID."
     )
-    public ResponseEntity<List<DepartmentDTO>> getAllDepartments() {
+    public ResponseEntity<List<DepartmentDTO>> getAllDepartments(WebRequest webRequest) {
+        String eTag = departmentService.getAllDepartmentsETag();
+        if (eTag != null && webRequest.checkNotModified(eTag)) {
+            return null;
+        }
         List<DepartmentDTO> departments = departmentService.getAllDepartments();
-        return ResponseEntity.ok(departments);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(departments);
     }
 }
@@ -1,33 +1,54 @@
 package com.hrms.controller;
 
+import com.hrms.DTOs.BulkImportResultDTO;
+import com.hrms.DTOs.CursorPageDTO;
+import com.hrms.DTOs.EmployeeChangesDTO;
 import com.hrms.DTOs.EmployeeDTO;
 import com.hrms.DTOs.EmployeeRequestDTO;
+import com.hrms.DTOs.EmployeeSearchResultDTO;
 import com.hrms.DTOs.EmployeeUpdateDTO;
 import com.hrms.DTOs.EmployeePatchDTO;
 import com.hrms.DTOs.MoveDepartmentHeadRequestDTO;
 import com.hrms.DTOs.MoveEmployeeRequestDTO;
+import com.hrms.DTOs.ReportsReassignmentDTO;
 import com.hrms.service.EmployeeService;
+import com.hrms.service.ReorgRetry;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/v1/employees")
 @Tag(name = "Employee Management", description = "Employee CRUD operations and organizational management")
 public class EmployeeController {
 
+    private static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+    private static final String CSV_MEDIA_TYPE = "text/csv";
+    // Responses vary by caller, so only private caches may keep them, and they must revalidate with the ETag
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final EmployeeService employeeService;
+    private final ReorgRetry reorgRetry;
 
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService, ReorgRetry reorgRetry) {
         this.employeeService = employeeService;
+        this.reorgRetry = reorgRetry;
     }
 
     @PostMapping
@@ -50,6 +71,15 @@ public class EmployeeController {
         return ResponseEntity.ok(createdEmployee);
     }
 
+    @PostMapping(value = "/bulk", consumes = {CSV_MEDIA_TYPE, NDJSON_MEDIA_TYPE})
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Bulk Import Employees",
+            description = "Creates employees from a CSV file with a header row or from newline-delimited JSON. Rows are validated individually; valid rows are saved and rejected rows are reported by line number. Only CEO or department heads (for their own department) can import.")
+    public ResponseEntity<BulkImportResultDTO> importEmployees(HttpServletRequest request) throws IOException {
+        BulkImportResultDTO result = employeeService.importEmployees(request.getInputStream(), request.getContentType());
+        return ResponseEntity.ok(result);
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Update Employee (Full Update)",
@@ -61,9 +91,11 @@ public class EmployeeController {
                     description = "Employee update data (all fields required)",
                     required = true
             )
-            @Valid @RequestBody EmployeeUpdateDTO employeeUpdateDTO
+            @Valid @RequestBody EmployeeUpdateDTO employeeUpdateDTO,
+            @Parameter(description = "ETag from a previous GET; the update is rejected with 412 if the employee has changed since")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
-        EmployeeDTO updatedEmployee = employeeService.updateEmployee(id, employeeUpdateDTO);
+        EmployeeDTO updatedEmployee = employeeService.updateEmployee(id, employeeUpdateDTO, ifMatch);
         return ResponseEntity.ok(updatedEmployee);
     }
 
@@ -75,19 +107,38 @@ public class EmployeeController {
             @Parameter(description = "Employee ID", required = true, example = "1")
             @PathVariable Long id,
             @Parameter(description = "Employee patch data (only fields to update)", required = true)
-            @RequestBody EmployeePatchDTO employeePatchDTO) {
-        EmployeeDTO patchedEmployee = employeeService.patchEmployee(id, employeePatchDTO);
+            @RequestBody EmployeePatchDTO employeePatchDTO,
+            @Parameter(description = "ETag from a previous GET; the update is rejected with 412 if the employee has changed since")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        EmployeeDTO patchedEmployee = employeeService.patchEmployee(id, employeePatchDTO, ifMatch);
         return ResponseEntity.ok(patchedEmployee);
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get Employee by ID",
-            description = "Retrieves employee details by ID. Users can view their own profile or employees they manage.")
+            description = "Retrieves employee details by ID. Users can view their own profile or employees they manage. Returns an ETag; send it back in If-None-Match to get 304 Not Modified while nothing shown has changed.")
     public ResponseEntity<EmployeeDTO> getEmployee(
             @Parameter(description = "Employee ID", required = true, example = "1")
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            WebRequest webRequest) {
+        // Answering 304 only needs the tag, so the DTO is built only when the client's copy is out of date
+        if (webRequest.checkNotModified(employeeService.getEmployeeETag(id))) {
+            return null;
+        }
         EmployeeDTO employee = employeeService.getEmployee(id);
-        return ResponseEntity.ok(employee);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(employee);
+    }
+
+    // Sparse variants: chosen over the full-DTO handler whenever the request has a fields parameter
+    @GetMapping(value = "/{id}", params = "fields")
+    @Operation(summary = "Get Employee by ID (Selected Fields)",
+            description = "Same access rules as Get Employee by ID, but returns only the requested fields. Department and manager tables are joined and reports counted only when those fields are requested.")
+    public ResponseEntity<Map<String, Object>> getEmployeeFields(
+            @Parameter(description = "Employee ID", required = true, example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,name. Only those columns are read; id is always included", required = true, example = "id,name")
+            @RequestParam String fields) {
+        return ResponseEntity.ok(employeeService.getEmployeeFields(id, fields));
     }
 
     @GetMapping
@@ -99,6 +150,81 @@ public class EmployeeController {
         return ResponseEntity.ok(employees);
     }
 
+    @GetMapping(params = "fields")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get All Employees (Selected Fields)",
+            description = "Same as Get All Employees, returning only the requested fields.")
+    public ResponseEntity<List<Map<String, Object>>> getAllEmployeeFields(
+            @Parameter(description = "Comma-separated fields to return, e.g. id,name. Only those columns are read; id is always included", required = true, example = "id,name")
+            @RequestParam String fields) {
+        return ResponseEntity.ok(employeeService.getAllEmployeeFields(fields));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search Employees",
+            description = "Typeahead search over names and email addresses, tolerant of prefixes and small typos. Results are ranked best first and limited to employees the caller can view.")
+    public ResponseEntity<List<EmployeeSearchResultDTO>> searchEmployees(
+            @Parameter(description = "Search text", required = true, example = "jo smi")
+            @RequestParam String q,
+            @Parameter(description = "Maximum number of results, capped by the server", example = "10")
+            @RequestParam(required = false) Integer limit
+    ) {
+        List<EmployeeSearchResultDTO> results = employeeService.searchEmployees(q, limit);
+        return ResponseEntity.ok(results);
+    }
+
+    @GetMapping("/page")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get All Employees (Paginated)",
+            description = "Retrieves one page of employees ordered by ID. Pass the returned nextCursor to fetch the following page. Only CEO can access this endpoint.")
+    public ResponseEntity<CursorPageDTO<EmployeeDTO>> getEmployeesPage(
+            @Parameter(description = "Opaque cursor returned by the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, capped by the server", example = "50")
+            @RequestParam(required = false) Integer size
+    ) {
+        CursorPageDTO<EmployeeDTO> page = employeeService.getEmployeesPage(cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping(value = "/page", params = "fields")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get All Employees (Paginated, Selected Fields)",
+            description = "Same as Get All Employees (Paginated), returning only the requested fields.")
+    public ResponseEntity<CursorPageDTO<Map<String, Object>>> getEmployeeFieldsPage(
+            @Parameter(description = "Opaque cursor returned by the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, capped by the server", example = "50")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,name. Only those columns are read; id is always included", required = true, example = "id,name")
+            @RequestParam String fields) {
+        return ResponseEntity.ok(employeeService.getEmployeeFieldsPage(cursor, size, fields));
+    }
+
+    @GetMapping(value = "/export", produces = NDJSON_MEDIA_TYPE)
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Export All Employees",
+            description = "Streams the full employee directory as newline-delimited JSON, one employee per line. Only CEO can access this endpoint.")
+    public void exportEmployees(HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON_MEDIA_TYPE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        employeeService.exportEmployees(response.getOutputStream());
+    }
+
+    @GetMapping("/changes")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get Employee Changes",
+            description = "Returns departments, employees and deleted employee ids changed after the given token, oldest first. Start without a token, then pass the returned nextToken each time; keep calling while hasMore is true. A 400 asking to resync means the token is unusable and the client must reload everything. Only CEO can access this endpoint.")
+    public ResponseEntity<EmployeeChangesDTO> getEmployeeChanges(
+            @Parameter(description = "nextToken from the previous call; omit for a first full sync")
+            @RequestParam(required = false) String since,
+            @Parameter(description = "Maximum number of changed rows, capped by the server", example = "50")
+            @RequestParam(required = false) Integer size
+    ) {
+        EmployeeChangesDTO changes = employeeService.getEmployeeChanges(since, size);
+        return ResponseEntity.ok(changes);
+    }
+
     @GetMapping("/department/{deptId}")
     @Operation(summary = "Get Employees by Department",
             description = "Retrieves all employees in a specific department. Only CEO or the department head of that department can access.")
@@ -110,6 +236,47 @@ public class EmployeeController {
         return ResponseEntity.ok(employees);
     }
 
+    @GetMapping(value = "/department/{deptId}", params = "fields")
+    @Operation(summary = "Get Employees by Department (Selected Fields)",
+            description = "Same as Get Employees by Department, returning only the requested fields.")
+    public ResponseEntity<List<Map<String, Object>>> getEmployeeFieldsByDepartment(
+            @Parameter(description = "Department ID", required = true, example = "1")
+            @PathVariable Long deptId,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,name. Only those columns are read; id is always included", required = true, example = "id,name")
+            @RequestParam String fields) {
+        return ResponseEntity.ok(employeeService.getEmployeeFieldsByDept(deptId, fields));
+    }
+
+    @GetMapping("/department/{deptId}/page")
+    @Operation(summary = "Get Employees by Department (Paginated)",
+            description = "Retrieves one page of employees in a department ordered by ID. Pass the returned nextCursor to fetch the following page. Only CEO or the department head of that department can access.")
+    public ResponseEntity<CursorPageDTO<EmployeeDTO>> getEmployeesByDepartmentPage(
+            @Parameter(description = "Department ID", required = true, example = "1")
+            @PathVariable Long deptId,
+            @Parameter(description = "Opaque cursor returned by the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, capped by the server", example = "50")
+            @RequestParam(required = false) Integer size
+    ) {
+        CursorPageDTO<EmployeeDTO> page = employeeService.getEmployeesByDeptPage(deptId, cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping(value = "/department/{deptId}/page", params = "fields")
+    @Operation(summary = "Get Employees by Department (Paginated, Selected Fields)",
+            description = "Same as Get Employees by Department (Paginated), returning only the requested fields.")
+    public ResponseEntity<CursorPageDTO<Map<String, Object>>> getEmployeeFieldsByDepartmentPage(
+            @Parameter(description = "Department ID", required = true, example = "1")
+            @PathVariable Long deptId,
+            @Parameter(description = "Opaque cursor returned by the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, capped by the server", example = "50")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,name. Only those columns are read; id is always included", required = true, example = "id,name")
+            @RequestParam String fields) {
+        return ResponseEntity.ok(employeeService.getEmployeeFieldsByDeptPage(deptId, cursor, size, fields));
+    }
+
     @GetMapping("/manager/{managerId}")
     @Operation(summary = "Get Employees by Manager",
             description = "Retrieves all employees reporting to a specific manager. Users can view reports of managers they manage.")
@@ -119,6 +286,51 @@ public class EmployeeController {
         return ResponseEntity.ok(employees);
     }
 
+    @GetMapping(value = "/manager/{managerId}", params = "fields")
+    @Operation(summary = "Get Employees by Manager (Selected Fields)",
+            description = "Same as Get Employees by Manager, returning only the requested fields.")
+    public ResponseEntity<List<Map<String, Object>>> getEmployeeFieldsByManager(
+            @Parameter(description = "Manager ID", required = true, example = "2")
+            @PathVariable Long managerId,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,name. Only those columns are read; id is always included", required = true, example = "id,name")
+            @RequestParam String fields) {
+        return ResponseEntity.ok(employeeService.getEmployeeFieldsByManager(managerId, fields));
+    }
+
+    @GetMapping("/{id}/subtree")
+    @Operation(summary = "Get Reporting Subtree",
+            description = "Retrieves everyone reporting to an employee directly or indirectly, ordered by ID. Optionally limited to a number of levels. Users can view subtrees of employees they are allowed to view.")
+    public ResponseEntity<CursorPageDTO<EmployeeDTO>> getSubtree(
+            @Parameter(description = "Employee ID", required = true, example = "2")
+            @PathVariable Long id,
+            @Parameter(description = "Maximum number of reporting levels below the employee", example = "2")
+            @RequestParam(required = false) Integer maxDepth,
+            @Parameter(description = "Opaque cursor returned by the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, capped by the server", example = "50")
+            @RequestParam(required = false) Integer size
+    ) {
+        CursorPageDTO<EmployeeDTO> subtree = employeeService.getSubtree(id, maxDepth, cursor, size);
+        return ResponseEntity.ok(subtree);
+    }
+
+    @GetMapping(value = "/{id}/subtree", params = "fields")
+    @Operation(summary = "Get Reporting Subtree (Selected Fields)",
+            description = "Same as Get Reporting Subtree, returning only the requested fields.")
+    public ResponseEntity<CursorPageDTO<Map<String, Object>>> getSubtreeFields(
+            @Parameter(description = "Employee ID", required = true, example = "2")
+            @PathVariable Long id,
+            @Parameter(description = "Maximum number of reporting levels below the employee", example = "2")
+            @RequestParam(required = false) Integer maxDepth,
+            @Parameter(description = "Opaque cursor returned by the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, capped by the server", example = "50")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,name. Only those columns are read; id is always included", required = true, example = "id,name")
+            @RequestParam String fields) {
+        return ResponseEntity.ok(employeeService.getSubtreeFields(id, maxDepth, cursor, size, fields));
+    }
+
     @PutMapping("/{empId}/manager/{managerId}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Assign Manager to Employee",
@@ -131,6 +343,20 @@ public class EmployeeController {
         return ResponseEntity.ok(updatedEmployee);
     }
 
+    @PutMapping("/manager/{fromId}/reports/reassign/{toId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Reassign All Direct Reports",
+            description = "Moves every direct report of one manager to another manager in a single operation. Only CEO or the department head of the current manager's department can perform this operation.")
+    public ResponseEntity<ReportsReassignmentDTO> reassignDirectReports(
+            @Parameter(description = "Current manager ID", required = true, example = "2")
+            @PathVariable Long fromId,
+            @Parameter(description = "New manager ID", required = true, example = "4")
+            @PathVariable Long toId) {
+        ReportsReassignmentDTO result = reorgRetry.execute("reassign-reports",
+                () -> employeeService.reassignDirectReports(fromId, toId));
+        return ResponseEntity.ok(result);
+    }
+
     @GetMapping("/reportings")
     @Operation(summary = "Get My Direct Reportings",
             description = "Retrieves all employees directly reporting to the current user. Employees can view their own direct reports.")
@@ -141,10 +367,13 @@ public class EmployeeController {
 
     @GetMapping("/profile")
     @Operation(summary = "Get Current User Profile",
-            description = "Retrieves the profile of the currently authenticated user.")
-    public ResponseEntity<EmployeeDTO> getCurrentUserProfile() {
+            description = "Retrieves the profile of the currently authenticated user. Supports If-None-Match like Get Employee by ID.")
+    public ResponseEntity<EmployeeDTO> getCurrentUserProfile(WebRequest webRequest) {
+        if (webRequest.checkNotModified(employeeService.getCurrentUserProfileETag())) {
+            return null;
+        }
         EmployeeDTO profile = employeeService.getCurrentUserProfile();
-        return ResponseEntity.ok(profile);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(profile);
     }
 
     // New: Move normal employee (CEO or Dept Head). Includes department and manager update.
@@ -157,7 +386,8 @@ public class EmployeeController {
             @PathVariable Long empId,
             @Valid @RequestBody MoveEmployeeRequestDTO request
     ) {
-        EmployeeDTO moved = employeeService.moveEmployeeWithManager(empId, request.getDepartmentId(), request.getManagerId());
+        EmployeeDTO moved = reorgRetry.execute("move-employee",
+                () -> employeeService.moveEmployeeWithManager(empId, request.getDepartmentId(), request.getManagerId()));
         return ResponseEntity.ok(moved);
     }
 
@@ -171,7 +401,8 @@ public class EmployeeController {
             @PathVariable Long headId,
             @Valid @RequestBody MoveDepartmentHeadRequestDTO request
     ) {
-        EmployeeDTO movedHead = employeeService.moveDepartmentHead(headId, request.getNewDepartmentId(), request.getReplacementHeadEmployeeId());
+        EmployeeDTO movedHead = reorgRetry.execute("move-department-head", () -> employeeService.moveDepartmentHead(
+                headId, request.getNewDepartmentId(), request.getReplacementHeadEmployeeId()));
         return ResponseEntity.ok(movedHead);
     }
 
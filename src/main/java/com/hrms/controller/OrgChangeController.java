@@ -0,0 +1,37 @@
+package com.hrms.controller;
+
+import com.hrms.stream.OrgChangeStream;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/v1/org")
+@Tag(name = "Org Changes", description = "Live feed of employee and department changes for downstream systems")
+public class OrgChangeController {
+
+    private static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    private final OrgChangeStream changeStream;
+
+    public OrgChangeController(OrgChangeStream changeStream) {
+        this.changeStream = changeStream;
+    }
+
+    @GetMapping(value = "/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Stream Org Changes",
+            description = "Server-Sent Events stream of committed changes: employee events (CREATED, UPDATED, MOVED, DELETED) and department events (CREATED, UPDATED). Each event id can be sent back as Last-Event-ID to resume. A 'reset' event means the missed changes are gone and the client must resync. Slow consumers are disconnected and may reconnect. Only the CEO can subscribe.")
+    public SseEmitter streamChanges(
+            @Parameter(description = "Id of the last event received, to resume after it")
+            @RequestHeader(value = LAST_EVENT_ID, required = false) String lastEventId) {
+        return changeStream.subscribe(lastEventId);
+    }
+}
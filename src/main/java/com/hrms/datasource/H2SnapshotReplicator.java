@@ -0,0 +1,253 @@
+package com.hrms.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stands in for asynchronous replication when both databases are local H2 instances, which cannot
+ * replicate to each other. Every interval it reads all tables of the primary in one SNAPSHOT transaction
+ * and replaces the replica's rows in one transaction, so replica readers move from one consistent copy to
+ * the next. The copy lags the primary by the interval plus the copy time, which is what the lag monitor
+ * and tolerance are exercised against. Tables are created on the replica the first time they are seen,
+ * without foreign keys. A real replica is fed by the database's own replication and needs none of this.
+ */
+public class H2SnapshotReplicator {
+
+    private static final Logger log = LoggerFactory.getLogger(H2SnapshotReplicator.class);
+
+    private static final int INSERT_BATCH_SIZE = 1000;
+    private static final String LIST_TABLES = "SELECT TABLE_NAME FROM INFORMATION_SCHEMA.TABLES " +
+            "WHERE TABLE_SCHEMA = 'PUBLIC' AND TABLE_TYPE = 'BASE TABLE' ORDER BY TABLE_NAME";
+
+    private final String primaryUrl;
+    private final String primaryUsername;
+    private final String primaryPassword;
+    private final String replicaUrl;
+    private final String replicaUsername;
+    private final String replicaPassword;
+    private final long intervalMillis;
+    private final Timer syncDuration;
+    private final ScheduledExecutorService scheduler;
+
+    // Only touched by the scheduler thread
+    private Connection source;
+    private Connection target;
+
+    public H2SnapshotReplicator(String primaryUrl, String primaryUsername, String primaryPassword,
+                                String replicaUrl, String replicaUsername, String replicaPassword,
+                                long intervalMillis, MeterRegistry meterRegistry) {
+        this.primaryUrl = primaryUrl;
+        this.primaryUsername = primaryUsername;
+        this.primaryPassword = primaryPassword;
+        this.replicaUrl = replicaUrl;
+        this.replicaUsername = replicaUsername;
+        this.replicaPassword = replicaPassword;
+        this.intervalMillis = intervalMillis;
+        this.syncDuration = Timer.builder("hrms.datasource.replica.sync").register(meterRegistry);
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("replica-sync-");
+        threadFactory.setDaemon(true);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::syncQuietly, 0, intervalMillis, TimeUnit.MILLISECONDS);
+        log.info("Copying {} to {} every {} ms", primaryUrl, replicaUrl, intervalMillis);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        scheduler.shutdownNow();
+        if (scheduler.awaitTermination(5, TimeUnit.SECONDS)) {
+            closeConnections();
+        }
+    }
+
+    // An exception escaping a scheduled task would cancel every later run
+    private void syncQuietly() {
+        try {
+            syncDuration.record(() -> {
+                try {
+                    sync();
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Replica sync failed, retrying in {} ms: {}", intervalMillis, e.getMessage());
+            closeConnections();
+        }
+    }
+
+    private void sync() throws SQLException {
+        openConnections();
+        List<String> tables = tableNames(source);
+        source.commit();
+        createMissingTables(tables);
+        try {
+            for (String table : tables) {
+                copyTable(table);
+            }
+            target.commit();
+        } catch (SQLException e) {
+            target.rollback();
+            throw e;
+        } finally {
+            // Ends the snapshot; the next run reads a new one
+            source.commit();
+        }
+    }
+
+    private void openConnections() throws SQLException {
+        if (source == null) {
+            source = DriverManager.getConnection(primaryUrl, primaryUsername, primaryPassword);
+            try (Statement statement = source.createStatement()) {
+                statement.execute("SET SESSION CHARACTERISTICS AS TRANSACTION ISOLATION LEVEL SNAPSHOT");
+            }
+            source.setAutoCommit(false);
+            source.setReadOnly(true);
+        }
+        if (target == null) {
+            target = DriverManager.getConnection(replicaUrl, replicaUsername, replicaPassword);
+            target.setAutoCommit(false);
+        }
+    }
+
+    private void createMissingTables(List<String> tables) throws SQLException {
+        Set<String> missing = new LinkedHashSet<>(tables);
+        missing.removeAll(tableNames(target));
+        if (missing.isEmpty()) {
+            return;
+        }
+        List<String> quoted = new ArrayList<>();
+        for (String table : missing) {
+            quoted.add("\"PUBLIC\"." + quote(table));
+        }
+        List<String> ddl = new ArrayList<>();
+        try (Statement script = source.createStatement();
+             ResultSet lines = script.executeQuery("SCRIPT NODATA TABLE " + String.join(", ", quoted))) {
+            while (lines.next()) {
+                String line = lines.getString(1);
+                if (isReplicatedDdl(line)) {
+                    ddl.add(line);
+                }
+            }
+        }
+        source.commit();
+        try (Statement statement = target.createStatement()) {
+            for (String line : ddl) {
+                statement.execute(line);
+            }
+        }
+        target.commit();
+        log.info("Created replica tables {}", missing);
+    }
+
+    // Tables, indexes and keys; not users, and not foreign keys, which would only order the row copy
+    private static boolean isReplicatedDdl(String line) {
+        String upper = line.toUpperCase(Locale.ROOT);
+        if (upper.startsWith("ALTER TABLE")) {
+            return !upper.contains("FOREIGN KEY");
+        }
+        return upper.startsWith("CREATE MEMORY TABLE") || upper.startsWith("CREATE CACHED TABLE")
+                || upper.startsWith("CREATE INDEX") || upper.startsWith("CREATE UNIQUE INDEX");
+    }
+
+    private void copyTable(String table) throws SQLException {
+        String quotedTable = quote(table);
+        try (Statement delete = target.createStatement()) {
+            delete.executeUpdate("DELETE FROM " + quotedTable);
+        }
+        try (Statement select = source.createStatement();
+             ResultSet rows = select.executeQuery("SELECT * FROM " + quotedTable)) {
+            ResultSetMetaData metaData = rows.getMetaData();
+            int columns = metaData.getColumnCount();
+            try (PreparedStatement insert = target.prepareStatement(insertSql(quotedTable, metaData))) {
+                int pending = 0;
+                while (rows.next()) {
+                    for (int column = 1; column <= columns; column++) {
+                        insert.setObject(column, rows.getObject(column));
+                    }
+                    insert.addBatch();
+                    if (++pending == INSERT_BATCH_SIZE) {
+                        insert.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    insert.executeBatch();
+                }
+            }
+        }
+    }
+
+    private static String insertSql(String quotedTable, ResultSetMetaData metaData) throws SQLException {
+        StringBuilder names = new StringBuilder();
+        StringBuilder values = new StringBuilder();
+        for (int column = 1; column <= metaData.getColumnCount(); column++) {
+            if (column > 1) {
+                names.append(", ");
+                values.append(", ");
+            }
+            names.append(quote(metaData.getColumnName(column)));
+            values.append('?');
+        }
+        return "INSERT INTO " + quotedTable + " (" + names + ") VALUES (" + values + ")";
+    }
+
+    private static List<String> tableNames(Connection connection) throws SQLException {
+        List<String> tables = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery(LIST_TABLES)) {
+            while (rows.next()) {
+                tables.add(rows.getString(1));
+            }
+        }
+        return tables;
+    }
+
+    private static String quote(String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+
+    private void closeConnections() {
+        closeQuietly(source);
+        closeQuietly(target);
+        source = null;
+        target = null;
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Closing replica sync connection failed: {}", e.getMessage());
+        }
+    }
+}
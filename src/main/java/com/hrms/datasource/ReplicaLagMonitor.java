@@ -0,0 +1,122 @@
+package com.hrms.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import javax.sql.DataSource;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures how far the replica is behind the primary with a heartbeat row. Every interval the primary's
+ * {@code replica_heartbeat} row is stamped with the wall clock, and the stamp the replica currently shows is
+ * read back. A stamp newer than the last read-write commit in this instance means the replica holds every
+ * write made here, so its staleness is zero. Otherwise it is the age of the stamp. While the replica cannot
+ * be read its staleness is unknown and reads stay on the primary.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    public static final String HEARTBEAT_TABLE = "replica_heartbeat";
+
+    private static final long UNKNOWN = -1L;
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final long maxLagMillis;
+    private final long heartbeatIntervalMillis;
+    private final ScheduledExecutorService scheduler;
+
+    private final AtomicLong lastWriteMillis = new AtomicLong();
+    private volatile long replicaPositionMillis = UNKNOWN;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, MeterRegistry meterRegistry,
+                             long maxLagMillis, long heartbeatIntervalMillis) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.maxLagMillis = maxLagMillis;
+        this.heartbeatIntervalMillis = heartbeatIntervalMillis;
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("replica-heartbeat-");
+        threadFactory.setDaemon(true);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+
+        Gauge.builder("hrms.datasource.replica.staleness", this,
+                        m -> m.stalenessMillis() == Long.MAX_VALUE ? Double.NaN : m.stalenessMillis())
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        primary.execute("CREATE TABLE IF NOT EXISTS " + HEARTBEAT_TABLE
+                + " (id INT PRIMARY KEY, beat_at BIGINT NOT NULL)");
+        if (primary.update("UPDATE " + HEARTBEAT_TABLE + " SET beat_at = ? WHERE id = 1",
+                System.currentTimeMillis()) == 0) {
+            primary.update("INSERT INTO " + HEARTBEAT_TABLE + " (id, beat_at) VALUES (1, ?)", System.currentTimeMillis());
+        }
+        scheduler.scheduleWithFixedDelay(this::beat, 0, heartbeatIntervalMillis, TimeUnit.MILLISECONDS);
+        log.info("Replica heartbeat every {} ms; read-only transactions tolerate {} ms of lag",
+                heartbeatIntervalMillis, maxLagMillis);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    /** Called after every committed read-write transaction. */
+    public void recordWrite() {
+        lastWriteMillis.accumulateAndGet(System.currentTimeMillis(), Math::max);
+    }
+
+    /** How stale a read on the replica can be, in milliseconds; {@link Long#MAX_VALUE} when unknown. */
+    public long stalenessMillis() {
+        long position = replicaPositionMillis;
+        if (position == UNKNOWN) {
+            return Long.MAX_VALUE;
+        }
+        // Strictly newer: a stamp taken in the same millisecond as a commit may have been written before it
+        if (position > lastWriteMillis.get()) {
+            return 0;
+        }
+        return Math.max(0, System.currentTimeMillis() - position);
+    }
+
+    public boolean replicaUsable() {
+        return stalenessMillis() <= maxLagMillis;
+    }
+
+    /** The replica holds every write committed in this instance. */
+    public boolean replicaCurrent() {
+        return stalenessMillis() == 0;
+    }
+
+    private void beat() {
+        try {
+            primary.update("UPDATE " + HEARTBEAT_TABLE + " SET beat_at = ? WHERE id = 1", System.currentTimeMillis());
+        } catch (DataAccessException e) {
+            log.warn("Could not write the replica heartbeat: {}", e.getMessage());
+        }
+        try {
+            Long position = replica.queryForObject("SELECT beat_at FROM " + HEARTBEAT_TABLE + " WHERE id = 1", Long.class);
+            replicaPositionMillis = position != null ? position : UNKNOWN;
+        } catch (DataAccessException e) {
+            if (replicaPositionMillis != UNKNOWN) {
+                log.warn("Replica unreadable, routing reads to the primary: {}", e.getMessage());
+            }
+            replicaPositionMillis = UNKNOWN;
+        }
+    }
+}
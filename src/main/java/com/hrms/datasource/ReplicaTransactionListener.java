@@ -0,0 +1,46 @@
+package com.hrms.datasource;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.lang.Nullable;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Feeds read-write commits to {@link ReplicaLagMonitor} and keeps replica reads out of the second-level
+ * cache. A read-only transaction that starts while the replica misses a local write may read an old row
+ * version. Put into the cache, that row would outlive the lag, up to the region's time to live, and fail
+ * every update that loads it with a version conflict. Such transactions still read the cache but never
+ * add to it.
+ */
+public class ReplicaTransactionListener implements TransactionExecutionListener {
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public ReplicaTransactionListener(ReplicaLagMonitor lagMonitor, EntityManagerFactory entityManagerFactory) {
+        this.lagMonitor = lagMonitor;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, @Nullable Throwable beginFailure) {
+        if (beginFailure != null || !transaction.isReadOnly() || lagMonitor.replicaCurrent()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.getResource(entityManagerFactory) instanceof EntityManagerHolder holder) {
+            holder.getEntityManager().unwrap(Session.class).setCacheMode(CacheMode.GET);
+        }
+    }
+
+    // A failed commit may still have been applied, so it counts as a write too
+    @Override
+    public void afterCommit(TransactionExecution transaction, @Nullable Throwable commitFailure) {
+        if (!transaction.isReadOnly()) {
+            lagMonitor.recordWrite();
+        }
+    }
+}
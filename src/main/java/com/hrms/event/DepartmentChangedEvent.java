@@ -0,0 +1,26 @@
+package com.hrms.event;
+
+import com.hrms.model.Department;
+import com.hrms.model.Employee;
+
+/**
+ * Snapshot of a department, published by the service layer whenever a department is created, renamed
+ * or gets a new head. Reorgs that swap heads with a single statement pass the new head id explicitly,
+ * since the loaded entity does not see that update.
+ */
+public record DepartmentChangedEvent(ChangeType type, Long departmentId, String name, Long headId) {
+
+    public enum ChangeType {
+        CREATED, UPDATED
+    }
+
+    public static DepartmentChangedEvent of(ChangeType type, Department department) {
+        return new DepartmentChangedEvent(type, department.getId(), department.getName(),
+                department.getHead() != null ? department.getHead().getId() : null);
+    }
+
+    public static DepartmentChangedEvent headChanged(Department department, Employee head) {
+        return new DepartmentChangedEvent(ChangeType.UPDATED, department.getId(), department.getName(),
+                head != null ? head.getId() : null);
+    }
+}
@@ -0,0 +1,28 @@
+package com.hrms.event;
+
+import com.hrms.model.Employee;
+
+/**
+ * Snapshot of an employee's reporting position, published by the service layer whenever an
+ * employee is created, changed, moved or deleted. Name and email are null when the publisher
+ * only changed the reporting position and did not load them. Bulk imports publish one
+ * {@link EmployeesImportedEvent} instead.
+ */
+public record EmployeeChangedEvent(ChangeType type, Long employeeId, Long managerId, Long departmentId,
+                                   boolean ceo, String name, String email) {
+
+    public enum ChangeType {
+        CREATED, UPDATED, MOVED, DELETED
+    }
+
+    public static EmployeeChangedEvent of(ChangeType type, Employee employee) {
+        return new EmployeeChangedEvent(
+                type,
+                employee.getId(),
+                employee.getManager() != null ? employee.getManager().getId() : null,
+                employee.getDepartment() != null ? employee.getDepartment().getId() : null,
+                employee.isCeo(),
+                employee.getName(),
+                employee.getEmail());
+    }
+}
@@ -0,0 +1,20 @@
+package com.hrms.event;
+
+import com.hrms.model.Employee;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * One event for a whole bulk import, published instead of a {@link EmployeeChangedEvent} per row so a large
+ * upload does not flood change stream subscribers and their replay ring. Carries a CREATED snapshot of each
+ * imported employee for the listeners that index them.
+ */
+public record EmployeesImportedEvent(List<EmployeeChangedEvent> employees) {
+
+    public static EmployeesImportedEvent of(List<Employee> employees) {
+        return new EmployeesImportedEvent(employees.stream()
+                .map(employee -> EmployeeChangedEvent.of(EmployeeChangedEvent.ChangeType.CREATED, employee))
+                .collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,520 @@
+package com.hrms.index;
+
+import com.hrms.event.EmployeeChangedEvent;
+import com.hrms.event.EmployeesImportedEvent;
+import com.hrms.repository.EmployeeRepository;
+import com.hrms.repository.EmployeeSearchEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Typeahead index over employee names and the local part of their emails, kept in memory and updated
+ * from committed {@link EmployeeChangedEvent}s.
+ * <p>
+ * Text is lower-cased, stripped of accents and split into tokens. A sorted token map answers prefix
+ * matches with one range scan. A map from leading-anchored trigrams to tokens finds typo candidates, which
+ * are then confirmed with a bounded edit distance against the start of the token. Only the most selective
+ * query term is looked up this way; every other term is checked against the candidates' own tokens, and
+ * must match one of them. Exact tokens rank above prefixes, prefixes above typos, and name
+ * matches above email matches. A name that starts with the whole query gets a bonus.
+ */
+@Component
+public class EmployeeSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeSearchIndex.class);
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final char ANCHOR = '^';
+    private static final int MAX_TERMS = 6;
+    private static final int MIN_FUZZY_LENGTH = 3;
+
+    private static final double EXACT_SCORE = 1.0;
+    private static final double PREFIX_SCORE = 0.8;
+    private static final double FUZZY_SCORE = 0.5;
+    private static final double FUZZY_PENALTY_PER_EDIT = 0.15;
+    private static final double EMAIL_WEIGHT = 0.9;
+    private static final double FIRST_NAME_BONUS = 0.05;
+    private static final double NAME_PREFIX_BONUS = 0.5;
+
+    private static final Comparator<Hit> RANKING = Comparator.comparingDouble(Hit::score).reversed()
+            .thenComparing(Hit::name)
+            .thenComparingLong(Hit::id);
+
+    /** Decides whether the caller may see an employee, given its id and department ({@link OrgChartIndex#NONE} if none). */
+    @FunctionalInterface
+    public interface Visibility {
+        boolean canView(long employeeId, long departmentId);
+    }
+
+    public record Hit(long id, String name, String email, long departmentId, double score) {
+    }
+
+    private record Entry(long id, String name, String email, long departmentId, String normalizedName,
+                         String[] nameTokens, String[] tokens) {
+
+        Entry withDepartment(long newDepartmentId) {
+            return new Entry(id, name, email, newDepartmentId, normalizedName, nameTokens, tokens);
+        }
+
+        boolean inName(String token) {
+            for (String nameToken : nameTokens) {
+                if (nameToken.equals(token)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private final EmployeeRepository empRepo;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final TreeMap<String, Postings> postings = new TreeMap<>();
+    // Trigram to the tokens containing it, each with the position of its first occurrence
+    private final Map<String, Map<String, Integer>> tokensByTrigram = new HashMap<>();
+
+    private volatile boolean ready;
+
+    public EmployeeSearchIndex(EmployeeRepository empRepo) {
+        this.empRepo = empRepo;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            postings.clear();
+            tokensByTrigram.clear();
+            try (Stream<EmployeeSearchEntry> rows = empRepo.streamSearchEntries()) {
+                rows.forEach(row -> put(row.getId(), row.getName(), row.getEmail(), row.getDepartmentId()));
+            }
+            ready = true;
+            log.info("Employee search index built with {} employees and {} tokens", entries.size(), postings.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.type() == EmployeeChangedEvent.ChangeType.DELETED) {
+                remove(event.employeeId());
+            } else if (event.name() != null) {
+                put(event.employeeId(), event.name(), event.email(), event.departmentId());
+            } else {
+                // Position-only change: the text is unchanged, only the department used for visibility moves
+                Entry entry = entries.get(event.employeeId());
+                if (entry != null) {
+                    entries.put(entry.id(), entry.withDepartment(departmentOrNone(event.departmentId())));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeesImported(EmployeesImportedEvent event) {
+        lock.writeLock().lock();
+        try {
+            event.employees().forEach(employee ->
+                    put(employee.employeeId(), employee.name(), employee.email(), employee.departmentId()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns at most {@code limit} employees the caller can see, best match first. Visibility is applied
+     * before the cut, so hidden employees never take a place in the result.
+     */
+    public List<Hit> search(String query, int limit, Visibility visibility) {
+        List<String> terms = queryTerms(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        String normalizedQuery = String.join(" ", terms);
+
+        lock.readLock().lock();
+        try {
+            // The most selective term builds the candidate set from the index; the others only filter and add to it
+            String first = mostSelective(terms);
+            Map<Long, Double> scores = scoreTerm(first);
+            List<String> rest = new ArrayList<>(terms);
+            rest.remove(first);
+            for (String term : rest) {
+                if (scores.isEmpty()) {
+                    break;
+                }
+                narrow(term, scores);
+            }
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+
+            PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, RANKING.reversed());
+            for (Map.Entry<Long, Double> candidate : scores.entrySet()) {
+                Entry entry = entries.get(candidate.getKey());
+                if (!visibility.canView(entry.id(), entry.departmentId())) {
+                    continue;
+                }
+                double score = candidate.getValue() / terms.size()
+                        + (entry.normalizedName().startsWith(normalizedQuery) ? NAME_PREFIX_BONUS : 0);
+                best.offer(new Hit(entry.id(), entry.name(), entry.email(), entry.departmentId(), score));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+            List<Hit> hits = new ArrayList<>(best);
+            hits.sort(RANKING);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The term with the fewest prefix postings. Whichever term has counted the fewest so far advances by one
+     * token, so a term as common as "employee" is never walked to the end. A term without prefix matches can
+     * only match through typos, whose spread is unknown, so it is only picked when no term has prefix matches.
+     */
+    private String mostSelective(List<String> terms) {
+        List<Iterator<Postings>> ranges = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            ranges.add(prefixRange(term).values().iterator());
+        }
+        long[] counts = new long[terms.size()];
+        boolean[] typoOnly = new boolean[terms.size()];
+        while (true) {
+            int lowest = -1;
+            for (int i = 0; i < counts.length; i++) {
+                if (!typoOnly[i] && (lowest < 0 || counts[i] < counts[lowest])) {
+                    lowest = i;
+                }
+            }
+            if (lowest < 0) {
+                return terms.get(0);
+            }
+            Iterator<Postings> range = ranges.get(lowest);
+            if (range.hasNext()) {
+                counts[lowest] += range.next().size;
+            } else if (counts[lowest] > 0) {
+                return terms.get(lowest);
+            } else {
+                typoOnly[lowest] = true;
+            }
+        }
+    }
+
+    private Map<String, Postings> prefixRange(String term) {
+        return postings.subMap(term, true, term + Character.MAX_VALUE, false);
+    }
+
+    // Every employee with a token matching the term, scored by their best matching token
+    private Map<Long, Double> scoreTerm(String term) {
+        Map<Long, Double> scores = new HashMap<>();
+        for (Map.Entry<String, Postings> match : prefixRange(term).entrySet()) {
+            double base = match.getKey().length() == term.length() ? EXACT_SCORE : PREFIX_SCORE;
+            collect(match.getKey(), match.getValue(), base, scores);
+        }
+        if (term.length() >= MIN_FUZZY_LENGTH) {
+            int maxEdits = maxEdits(term);
+            int[][] rows = editRows(term, maxEdits);
+            for (String token : fuzzyCandidates(term, maxEdits)) {
+                if (token.startsWith(term)) {
+                    continue;
+                }
+                int distance = prefixEditDistance(term, token, maxEdits, rows);
+                if (distance <= maxEdits) {
+                    collect(token, postings.get(token), fuzzyScore(distance), scores);
+                }
+            }
+        }
+        return scores;
+    }
+
+    private void collect(String token, Postings ids, double base, Map<Long, Double> scores) {
+        for (int i = 0; i < ids.size; i++) {
+            long id = ids.ids[i];
+            scores.merge(id, tokenScore(entries.get(id), token, base), Math::max);
+        }
+    }
+
+    // Adds the term's best token score to every candidate; candidates without a matching token drop out
+    private void narrow(String term, Map<Long, Double> scores) {
+        Iterator<Map.Entry<Long, Double>> candidates = scores.entrySet().iterator();
+        while (candidates.hasNext()) {
+            Map.Entry<Long, Double> candidate = candidates.next();
+            double score = termScore(term, entries.get(candidate.getKey()));
+            if (score < 0) {
+                candidates.remove();
+            } else {
+                candidate.setValue(candidate.getValue() + score);
+            }
+        }
+    }
+
+    // Best score of the term against one employee's own tokens, or -1 if none of them matches
+    private static double termScore(String term, Entry entry) {
+        double best = -1;
+        int maxEdits = maxEdits(term);
+        int[][] rows = null;
+        for (String token : entry.tokens()) {
+            double base;
+            if (token.startsWith(term)) {
+                base = token.length() == term.length() ? EXACT_SCORE : PREFIX_SCORE;
+            } else if (term.length() >= MIN_FUZZY_LENGTH) {
+                if (rows == null) {
+                    rows = editRows(term, maxEdits);
+                }
+                int distance = prefixEditDistance(term, token, maxEdits, rows);
+                if (distance > maxEdits) {
+                    continue;
+                }
+                base = fuzzyScore(distance);
+            } else {
+                continue;
+            }
+            best = Math.max(best, tokenScore(entry, token, base));
+        }
+        return best;
+    }
+
+    private static double tokenScore(Entry entry, String token, double base) {
+        return base * (entry.inName(token) ? 1 : EMAIL_WEIGHT)
+                + (entry.nameTokens().length > 0 && entry.nameTokens()[0].equals(token) ? FIRST_NAME_BONUS : 0);
+    }
+
+    private static int maxEdits(String term) {
+        return term.length() <= 5 ? 1 : 2;
+    }
+
+    private static double fuzzyScore(int distance) {
+        return FUZZY_SCORE - FUZZY_PENALTY_PER_EDIT * (distance - 1);
+    }
+
+    /**
+     * Tokens that share enough leading-anchored trigrams with the term to be within maxEdits of it (q-gram
+     * lemma). A matching prefix is at most {@code maxEdits} longer than the term, so trigrams further into
+     * the token cannot be part of it and are not counted.
+     */
+    private List<String> fuzzyCandidates(String term, int maxEdits) {
+        Set<String> termTrigrams = trigrams(term).keySet();
+        int lastPosition = term.length() + maxEdits - 2;
+        Map<String, Integer> shared = new HashMap<>();
+        for (String trigram : termTrigrams) {
+            for (Map.Entry<String, Integer> token : tokensByTrigram.getOrDefault(trigram, Map.of()).entrySet()) {
+                if (token.getValue() <= lastPosition) {
+                    shared.merge(token.getKey(), 1, Integer::sum);
+                }
+            }
+        }
+        int required = Math.max(1, termTrigrams.size() - 3 * maxEdits);
+        List<String> candidates = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : shared.entrySet()) {
+            if (entry.getValue() >= required) {
+                candidates.add(entry.getKey());
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Smallest edit distance (with adjacent transpositions) between {@code term} and any prefix of
+     * {@code token}, so an unfinished word still matches. Prefixes more than {@code maxEdits} longer than the
+     * term are out of reach and not computed. Gives up with {@code maxEdits + 1} once every cell in a row
+     * exceeds the bound.
+     */
+    private static int prefixEditDistance(String term, String token, int maxEdits, int[][] rows) {
+        int columns = Math.min(token.length(), term.length() + maxEdits) + 1;
+        int[] twoBack = rows[0];
+        int[] previous = rows[1];
+        int[] current = rows[2];
+        for (int j = 0; j < columns; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= term.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j < columns; j++) {
+                int cost = term.charAt(i - 1) == token.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && term.charAt(i - 1) == token.charAt(j - 2)
+                        && term.charAt(i - 2) == token.charAt(j - 1)) {
+                    value = Math.min(value, twoBack[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > maxEdits) {
+                return maxEdits + 1;
+            }
+            int[] recycled = twoBack;
+            twoBack = previous;
+            previous = current;
+            current = recycled;
+        }
+        int best = maxEdits + 1;
+        for (int j = 0; j < columns; j++) {
+            best = Math.min(best, previous[j]);
+        }
+        return best;
+    }
+
+    // Scratch rows for prefixEditDistance, allocated once per term and reused for every token it is compared with
+    private static int[][] editRows(String term, int maxEdits) {
+        return new int[3][term.length() + maxEdits + 1];
+    }
+
+    private void put(Long employeeId, String name, String email, Long departmentId) {
+        remove(employeeId);
+        String[] nameTokens = tokenize(name);
+        Set<String> tokens = new LinkedHashSet<>(Arrays.asList(nameTokens));
+        String[] emailTokens = tokenize(localPart(email));
+        tokens.addAll(Arrays.asList(emailTokens));
+        if (emailTokens.length > 1) {
+            // "john.smith" is also findable as typed without the separator
+            tokens.add(String.join("", emailTokens));
+        }
+        Entry entry = new Entry(employeeId, name != null ? name : "", email, departmentOrNone(departmentId),
+                String.join(" ", nameTokens), nameTokens, tokens.toArray(new String[0]));
+        entries.put(employeeId, entry);
+        for (String token : entry.tokens()) {
+            Postings ids = postings.get(token);
+            if (ids == null) {
+                ids = new Postings();
+                postings.put(token, ids);
+                trigrams(token).forEach((trigram, position) ->
+                        tokensByTrigram.computeIfAbsent(trigram, t -> new HashMap<>()).put(token, position));
+            }
+            ids.add(employeeId);
+        }
+    }
+
+    private void remove(Long employeeId) {
+        Entry entry = entries.remove(employeeId);
+        if (entry == null) {
+            return;
+        }
+        for (String token : entry.tokens()) {
+            Postings ids = postings.get(token);
+            if (ids == null) {
+                continue;
+            }
+            ids.remove(employeeId);
+            if (ids.size == 0) {
+                postings.remove(token);
+                for (String trigram : trigrams(token).keySet()) {
+                    Map<String, Integer> tokens = tokensByTrigram.get(trigram);
+                    if (tokens != null && tokens.remove(token) != null && tokens.isEmpty()) {
+                        tokensByTrigram.remove(trigram);
+                    }
+                }
+            }
+        }
+    }
+
+    private static List<String> queryTerms(String query) {
+        if (query == null) {
+            return List.of();
+        }
+        // An email typed in full only matches on its local part, which is all the index holds
+        int at = query.indexOf('@');
+        String text = at > 0 ? query.substring(0, at) : query;
+        String[] tokens = tokenize(text);
+        return Arrays.asList(tokens).subList(0, Math.min(tokens.length, MAX_TERMS));
+    }
+
+    private static String[] tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return new String[0];
+        }
+        String normalized = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        return Arrays.stream(SEPARATORS.split(normalized)).filter(token -> !token.isEmpty()).toArray(String[]::new);
+    }
+
+    private static String localPart(String email) {
+        if (email == null) {
+            return null;
+        }
+        int at = email.indexOf('@');
+        return at >= 0 ? email.substring(0, at) : email;
+    }
+
+    // Trigrams of the token with a leading anchor, so the start of a word weighs in and short words have grams,
+    // each mapped to where it first starts in the anchored token
+    private static Map<String, Integer> trigrams(String token) {
+        String anchored = ANCHOR + token;
+        Map<String, Integer> grams = new HashMap<>();
+        for (int i = 0; i + 3 <= anchored.length(); i++) {
+            grams.putIfAbsent(anchored.substring(i, i + 3), i);
+        }
+        return grams;
+    }
+
+    private static long departmentOrNone(Long departmentId) {
+        return departmentId != null ? departmentId : OrgChartIndex.NONE;
+    }
+
+    // Ascending employee ids for one token; binary search keeps add and remove cheap for the short lists typical here
+    private static final class Postings {
+        private long[] ids = new long[2];
+        private int size;
+
+        void add(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+            int insertAt = -index - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        void remove(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.hrms.index;
+
+import com.hrms.event.EmployeeChangedEvent;
+import com.hrms.event.EmployeesImportedEvent;
+import com.hrms.repository.EmployeeRepository;
+import com.hrms.repository.OrgChartNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Read-optimized copy of the reporting hierarchy held in primitive arrays indexed by employee id.
+ * <p>
+ * Parent, department and the sorted reports of each node are patched in place from committed
+ * {@link EmployeeChangedEvent}s, so a write costs O(reports of the old and new manager) and reads never
+ * rebuild or allocate. Reports are handed out through a visitor rather than copied.
+ */
+@Component
+public class OrgChartIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(OrgChartIndex.class);
+
+    public static final long NONE = -1L;
+
+    private static final int UNSET = -1;
+    private static final int MIN_CAPACITY = 1024;
+    private static final int MIN_REPORTS = 4;
+
+    private final EmployeeRepository empRepo;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int[] parent = new int[0];
+    private int[] department = new int[0];
+    private boolean[] present = new boolean[0];
+    // Employee count per department id, kept in step with department[] by put and remove
+    private int[] departmentSizes = new int[0];
+    private int nodeCount;
+
+    // Reports of each node in ascending id order in reports[n][0 .. reportCounts[n]); null until a node has one
+    private int[][] reports = new int[0][];
+    private int[] reportCounts = new int[0];
+
+    private volatile boolean ready;
+
+    public OrgChartIndex(EmployeeRepository empRepo) {
+        this.empRepo = empRepo;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            parent = new int[0];
+            department = new int[0];
+            present = new boolean[0];
+            departmentSizes = new int[0];
+            reports = new int[0][];
+            reportCounts = new int[0];
+            nodeCount = 0;
+            try (Stream<OrgChartNode> nodes = empRepo.streamOrgChartNodes()) {
+                nodes.forEach(node -> put(node.getId(), node.getManagerId(), node.getDepartmentId()));
+            }
+            ready = true;
+            log.info("Org chart index built with {} employees", nodeCount);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.type() == EmployeeChangedEvent.ChangeType.DELETED) {
+                remove(event.employeeId());
+            } else {
+                put(event.employeeId(), event.managerId(), event.departmentId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeesImported(EmployeesImportedEvent event) {
+        lock.writeLock().lock();
+        try {
+            event.employees().forEach(employee ->
+                    put(employee.employeeId(), employee.managerId(), employee.departmentId()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return nodeCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(long employeeId) {
+        lock.readLock().lock();
+        try {
+            return slotOf(employeeId) != UNSET;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int departmentSize(long departmentId) {
+        lock.readLock().lock();
+        try {
+            return departmentId >= 0 && departmentId < departmentSizes.length ? departmentSizes[(int) departmentId] : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int directReportCount(long managerId) {
+        lock.readLock().lock();
+        try {
+            int slot = slotOf(managerId);
+            return slot == UNSET ? 0 : reportCounts[slot];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Passes the ids of the direct reports of {@code managerId} to {@code visitor} in ascending order. The
+     * visitor runs under the read lock, so it should only collect ids and must not call back into the index.
+     */
+    public void forEachDirectReport(long managerId, LongConsumer visitor) {
+        lock.readLock().lock();
+        try {
+            int slot = slotOf(managerId);
+            if (slot == UNSET) {
+                return;
+            }
+            int[] managerReports = reports[slot];
+            for (int i = 0; i < reportCounts[slot]; i++) {
+                visitor.accept(managerReports[i]);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns true if {@code ancestorId} appears anywhere on the management chain above {@code employeeId}.
+     */
+    public boolean isInReportingChain(long ancestorId, long employeeId) {
+        lock.readLock().lock();
+        try {
+            int current = slotOf(employeeId);
+            // The step bound guards against a corrupt cycle in the source data
+            for (int steps = 0; current != UNSET && steps <= nodeCount; steps++) {
+                current = parent[current];
+                if (current == ancestorId) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(Long employeeId, Long managerId, Long departmentId) {
+        int slot = toSlot(employeeId);
+        int managerSlot = managerId != null ? toSlot(managerId) : UNSET;
+        ensureCapacity(Math.max(slot, managerSlot) + 1);
+
+        if (!present[slot]) {
+            present[slot] = true;
+            nodeCount++;
+        } else if (department[slot] != UNSET) {
+            departmentSizes[department[slot]]--;
+        }
+        if (parent[slot] != managerSlot) {
+            if (parent[slot] != UNSET) {
+                removeReport(parent[slot], slot);
+            }
+            if (managerSlot != UNSET) {
+                addReport(managerSlot, slot);
+            }
+        }
+        parent[slot] = managerSlot;
+        department[slot] = departmentId != null ? toSlot(departmentId) : UNSET;
+        if (department[slot] != UNSET) {
+            if (department[slot] >= departmentSizes.length) {
+                departmentSizes = Arrays.copyOf(departmentSizes, Math.max(department[slot] + 1, departmentSizes.length * 2));
+            }
+            departmentSizes[department[slot]]++;
+        }
+    }
+
+    private void remove(Long employeeId) {
+        int slot = slotOf(employeeId);
+        if (slot == UNSET) {
+            return;
+        }
+        present[slot] = false;
+        if (parent[slot] != UNSET) {
+            removeReport(parent[slot], slot);
+        }
+        parent[slot] = UNSET;
+        if (department[slot] != UNSET) {
+            departmentSizes[department[slot]]--;
+        }
+        department[slot] = UNSET;
+        nodeCount--;
+    }
+
+    // Inserts by binary search so each node's reports stay in ascending id order
+    private void addReport(int managerSlot, int slot) {
+        int[] managerReports = reports[managerSlot];
+        int count = reportCounts[managerSlot];
+        if (managerReports == null) {
+            managerReports = new int[MIN_REPORTS];
+        } else if (count == managerReports.length) {
+            managerReports = Arrays.copyOf(managerReports, count + (count >> 1));
+        }
+        int at = -(Arrays.binarySearch(managerReports, 0, count, slot) + 1);
+        System.arraycopy(managerReports, at, managerReports, at + 1, count - at);
+        managerReports[at] = slot;
+        reports[managerSlot] = managerReports;
+        reportCounts[managerSlot] = count + 1;
+    }
+
+    private void removeReport(int managerSlot, int slot) {
+        int[] managerReports = reports[managerSlot];
+        int count = reportCounts[managerSlot];
+        int at = managerReports != null ? Arrays.binarySearch(managerReports, 0, count, slot) : -1;
+        if (at < 0) {
+            return;
+        }
+        System.arraycopy(managerReports, at + 1, managerReports, at, count - at - 1);
+        reportCounts[managerSlot] = count - 1;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= parent.length) {
+            return;
+        }
+        int oldCapacity = parent.length;
+        int capacity = Math.max(MIN_CAPACITY, Math.max(required, oldCapacity + (oldCapacity >> 1)));
+        parent = Arrays.copyOf(parent, capacity);
+        department = Arrays.copyOf(department, capacity);
+        present = Arrays.copyOf(present, capacity);
+        reports = Arrays.copyOf(reports, capacity);
+        reportCounts = Arrays.copyOf(reportCounts, capacity);
+        Arrays.fill(parent, oldCapacity, capacity, UNSET);
+        Arrays.fill(department, oldCapacity, capacity, UNSET);
+    }
+
+    private int slotOf(long employeeId) {
+        if (employeeId < 0 || employeeId >= present.length || !present[(int) employeeId]) {
+            return UNSET;
+        }
+        return (int) employeeId;
+    }
+
+    private static int toSlot(long id) {
+        if (id < 0 || id >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Id out of range for org chart index: " + id);
+        }
+        return (int) id;
+    }
+}
@@ -0,0 +1,10 @@
+package com.hrms.model;
+
+/**
+ * A row stamped with the org-wide change sequence on every insert and update, so delta syncs can read
+ * what changed after a position with a range scan on {@code change_seq}.
+ */
+public interface ChangeSequenced {
+
+    void setChangeSeq(Long changeSeq);
+}
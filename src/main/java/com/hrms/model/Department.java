@@ -1,5 +1,6 @@
 package com.hrms.model;
 
+import com.hrms.sync.ChangeSequenceListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Getter;
@@ -7,22 +8,35 @@ import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Setter;
 import lombok.EqualsAndHashCode;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
 @Entity
-@Table(name = "departments")
+@Table(name = "departments", indexes = {
+        @Index(name = "idx_departments_change_seq", columnList = "change_seq, id")
+})
+@EntityListeners(ChangeSequenceListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "departments")
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
-public class Department {
+public class Department implements ChangeSequenced {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @EqualsAndHashCode.Include
     private Long id;
 
+    @Version
+    private Long version;
+
+    @Column(name = "change_seq", nullable = false)
+    private Long changeSeq;
+
     @NotBlank(message = "Department name is required")
     @Column(unique = true)
     private String name;
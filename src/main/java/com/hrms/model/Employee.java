@@ -1,6 +1,7 @@
 package com.hrms.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.hrms.sync.ChangeSequenceListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -10,22 +11,41 @@ import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Setter;
 import lombok.EqualsAndHashCode;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
 @Entity
-@Table(name = "employees")
+@Table(name = "employees", indexes = {
+        @Index(name = "idx_employees_department_id", columnList = "department_id, id"),
+        @Index(name = "idx_employees_department_manager", columnList = "department_id, manager_id"),
+        @Index(name = "idx_employees_change_seq", columnList = "change_seq, id")
+})
+@EntityListeners(ChangeSequenceListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "employees")
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
-public class Employee {
+public class Employee implements ChangeSequenced {
+    // Pooled sequence instead of IDENTITY so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employees_seq")
+    @SequenceGenerator(name = "employees_seq", sequenceName = "employees_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
 
+    // Bumped on every update; together with the department and manager versions it makes the employee ETag
+    @Version
+    private Long version;
+
+    // Org-wide change sequence of the last write to this row; delta syncs read rows past a position
+    @Column(name = "change_seq", nullable = false)
+    private Long changeSeq;
+
     @NotBlank(message = "Name is required")
     private String name;
 
@@ -77,4 +97,11 @@ public class Employee {
         return isCeo() || this.equals(target) ||
                (isDeptHead() && this.getDepartment() != null && this.getDepartment().equals(target.getDepartment()));
     }
+
+    // Same rule for callers that only have the target's id and department id, such as projection reads
+    public boolean canViewEmployee(Long targetId, Long targetDepartmentId) {
+        return isCeo() || (id != null && id.equals(targetId)) ||
+               (isDeptHead() && this.getDepartment() != null && targetDepartmentId != null
+                       && targetDepartmentId.equals(this.getDepartment().getId()));
+    }
 }
\ No newline at end of file
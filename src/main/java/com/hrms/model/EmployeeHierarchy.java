@@ -0,0 +1,43 @@
+package com.hrms.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+/**
+ * Closure table row: {@code ancestorId} manages {@code descendantId} through {@code depth} reporting
+ * levels. Every employee also has a depth-0 row pointing at itself.
+ */
+@Entity
+@Table(name = "employee_hierarchy", indexes = {
+        @Index(name = "idx_employee_hierarchy_descendant", columnList = "descendant_id, ancestor_id")
+})
+@IdClass(EmployeeHierarchy.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeHierarchy {
+    @Id
+    @Column(name = "ancestor_id")
+    private Long ancestorId;
+
+    @Id
+    @Column(name = "descendant_id")
+    private Long descendantId;
+
+    private int depth;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long ancestorId;
+        private Long descendantId;
+    }
+}
@@ -0,0 +1,39 @@
+package com.hrms.model;
+
+import com.hrms.sync.ChangeSequenceListener;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Marks a deleted employee for delta syncs, which would otherwise never see the row disappear.
+ * Employee ids come from a sequence and are never reused, so one tombstone per id is enough.
+ */
+@Entity
+@Table(name = "employee_tombstones", indexes = {
+        @Index(name = "idx_employee_tombstones_change_seq", columnList = "change_seq, employee_id")
+})
+@EntityListeners(ChangeSequenceListener.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class EmployeeTombstone implements ChangeSequenced {
+
+    @Id
+    @Column(name = "employee_id")
+    private Long employeeId;
+
+    @Column(name = "change_seq", nullable = false)
+    private Long changeSeq;
+
+    @Column(name = "deleted_at", nullable = false)
+    private Instant deletedAt;
+
+    public EmployeeTombstone(Long employeeId) {
+        this.employeeId = employeeId;
+        this.deletedAt = Instant.now();
+    }
+}
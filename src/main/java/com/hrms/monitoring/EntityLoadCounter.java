@@ -0,0 +1,34 @@
+package com.hrms.monitoring;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts every entity Hibernate hydrates, whether from a query, a lazy proxy or an association fetch,
+ * against the open {@link QueryStats}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "hrms.query-stats", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class EntityLoadCounter implements PostLoadEventListener {
+
+    public EntityLoadCounter(EntityManagerFactory entityManagerFactory) {
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_LOAD, this);
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        QueryStats stats = QueryStats.current();
+        if (stats != null) {
+            stats.entityLoaded();
+        }
+    }
+}
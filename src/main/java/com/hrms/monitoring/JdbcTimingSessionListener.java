@@ -0,0 +1,39 @@
+package com.hrms.monitoring;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Adds the time spent executing statements and batches to the open {@link QueryStats}. Hibernate creates
+ * one instance per session, and a session is only used by one thread at a time.
+ */
+public class JdbcTimingSessionListener implements SessionEventListener {
+
+    private long executionStarted;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executionStarted = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        recordExecution();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executionStarted = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        recordExecution();
+    }
+
+    private void recordExecution() {
+        QueryStats stats = QueryStats.current();
+        if (stats != null) {
+            stats.jdbcExecuted(System.nanoTime() - executionStarted);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.hrms.monitoring;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JDBC statements, time spent executing them and entities loaded on the current thread while a
+ * measurement is open. {@link QueryStatsFilter} opens one per HTTP request; tests and benchmarks can
+ * open their own with {@link #measure} and check it with the {@code assert} methods. Measurements nest,
+ * and an inner one also counts towards the one around it.
+ */
+public final class QueryStats {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private final QueryStats outer;
+    private final Map<String, Integer> executionsBySql = new HashMap<>();
+    private int statements;
+    private long jdbcNanos;
+    private int entityLoads;
+
+    private QueryStats(QueryStats outer) {
+        this.outer = outer;
+    }
+
+    public record RepeatedStatement(String sql, int executions) {
+    }
+
+    public static QueryStats start() {
+        QueryStats stats = new QueryStats(CURRENT.get());
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public void stop() {
+        if (CURRENT.get() != this) {
+            throw new IllegalStateException("Query stats must be stopped on the thread that started them, innermost first");
+        }
+        if (outer == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(outer);
+        }
+    }
+
+    public static QueryStats measure(Runnable action) {
+        QueryStats stats = start();
+        try {
+            action.run();
+        } finally {
+            stats.stop();
+        }
+        return stats;
+    }
+
+    static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    void statementPrepared(String sql) {
+        for (QueryStats stats = this; stats != null; stats = stats.outer) {
+            stats.statements++;
+            stats.executionsBySql.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    void jdbcExecuted(long nanos) {
+        for (QueryStats stats = this; stats != null; stats = stats.outer) {
+            stats.jdbcNanos += nanos;
+        }
+    }
+
+    void entityLoaded() {
+        for (QueryStats stats = this; stats != null; stats = stats.outer) {
+            stats.entityLoads++;
+        }
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public long dbTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(jdbcNanos);
+    }
+
+    public int entityLoads() {
+        return entityLoads;
+    }
+
+    /** The SQL executed most often, the usual sign of an N+1 lookup when its count tracks the result size. */
+    public Optional<RepeatedStatement> mostRepeated() {
+        return executionsBySql.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .map(e -> new RepeatedStatement(e.getKey(), e.getValue()));
+    }
+
+    public QueryStats assertStatementsAtMost(int max) {
+        if (statements > max) {
+            throw new AssertionError("Expected at most " + max + " statements but ran " + describe());
+        }
+        return this;
+    }
+
+    /** Fails when any single SQL string ran more than {@code max} times. */
+    public QueryStats assertNoStatementRepeatedMoreThan(int max) {
+        mostRepeated().filter(r -> r.executions() > max).ifPresent(r -> {
+            throw new AssertionError("Statement ran " + r.executions() + " times (at most " + max + " expected): "
+                    + r.sql());
+        });
+        return this;
+    }
+
+    /** For checking that a larger page or result set does not add statements. */
+    public QueryStats assertSameStatementCountAs(QueryStats other) {
+        if (statements != other.statements) {
+            throw new AssertionError("Statement count changed from " + other.describe() + " to " + describe());
+        }
+        return this;
+    }
+
+    public String describe() {
+        StringBuilder description = new StringBuilder()
+                .append(statements).append(" statements in ").append(dbTimeMillis()).append(" ms, ")
+                .append(entityLoads).append(" entities loaded");
+        mostRepeated().filter(r -> r.executions() > 1).ifPresent(r ->
+                description.append("; most repeated (").append(r.executions()).append("x): ").append(r.sql()));
+        return description.toString();
+    }
+}
@@ -0,0 +1,162 @@
+package com.hrms.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Opens a {@link QueryStats} around each request. The counts are sent as {@code X-Query-Count},
+ * {@code X-Query-Time-Ms} and {@code X-Entity-Loads} just before the response is committed, and logged
+ * once the request is done. Requests over the statement threshold, or running one SQL string more than
+ * the repeat threshold, are logged at WARN as a likely N+1.
+ * <p>
+ * Ordered ahead of the security filters so principal lookups are counted too.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(prefix = "hrms.query-stats", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class QueryStatsFilter extends OncePerRequestFilter {
+
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+    public static final String QUERY_TIME_HEADER = "X-Query-Time-Ms";
+    public static final String ENTITY_LOADS_HEADER = "X-Entity-Loads";
+
+    private static final Logger log = LoggerFactory.getLogger(QueryStatsFilter.class);
+    private static final int MAX_LOGGED_SQL_LENGTH = 300;
+
+    private final MeterRegistry meterRegistry;
+    private final boolean exposeHeaders;
+    private final int warnStatements;
+    private final int repeatThreshold;
+
+    public QueryStatsFilter(MeterRegistry meterRegistry,
+                            @Value("${hrms.query-stats.expose-headers:true}") boolean exposeHeaders,
+                            @Value("${hrms.query-stats.warn-statements:25}") int warnStatements,
+                            @Value("${hrms.query-stats.repeat-threshold:10}") int repeatThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.exposeHeaders = exposeHeaders;
+        this.warnStatements = warnStatements;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryStats stats = QueryStats.start();
+        try {
+            filterChain.doFilter(request, exposeHeaders ? new StatsHeaderResponse(response, stats) : response);
+        } finally {
+            stats.stop();
+            record(request, response, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, QueryStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder("hrms.request.statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.statements());
+
+        QueryStats.RepeatedStatement repeated = stats.mostRepeated().orElse(null);
+        boolean repeatedTooOften = repeated != null && repeated.executions() > repeatThreshold;
+        if (repeatedTooOften) {
+            Counter.builder("hrms.request.repeated.statements")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("Possible N+1 on {} {}: {} statements, the same SQL {} times: {}", request.getMethod(),
+                    request.getRequestURI(), stats.statements(), repeated.executions(), abbreviate(repeated.sql()));
+        } else if (stats.statements() > warnStatements) {
+            log.warn("{} {} ran {} statements ({} ms, {} entities loaded)", request.getMethod(),
+                    request.getRequestURI(), stats.statements(), stats.dbTimeMillis(), stats.entityLoads());
+        } else if (log.isDebugEnabled()) {
+            log.debug("{} {} -> {}: {} statements, {} ms, {} entities loaded", request.getMethod(),
+                    request.getRequestURI(), response.getStatus(), stats.statements(), stats.dbTimeMillis(),
+                    stats.entityLoads());
+        }
+    }
+
+    private static String abbreviate(String sql) {
+        return sql.length() <= MAX_LOGGED_SQL_LENGTH ? sql : sql.substring(0, MAX_LOGGED_SQL_LENGTH) + "...";
+    }
+
+    // Writes the headers the first time the body or status is about to go out, which is after the handler has run
+    private static final class StatsHeaderResponse extends HttpServletResponseWrapper {
+
+        private final QueryStats stats;
+        private boolean headersWritten;
+
+        StatsHeaderResponse(HttpServletResponse response, QueryStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeaders();
+            super.sendRedirect(location);
+        }
+
+        private void writeHeaders() {
+            if (headersWritten || isCommitted()) {
+                return;
+            }
+            headersWritten = true;
+            setHeader(QUERY_COUNT_HEADER, Integer.toString(stats.statements()));
+            setHeader(QUERY_TIME_HEADER, Long.toString(stats.dbTimeMillis()));
+            setHeader(ENTITY_LOADS_HEADER, Integer.toString(stats.entityLoads()));
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.hrms.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Sees every SQL string Hibernate prepares, including native queries and bulk updates, and counts it
+ * against the open {@link QueryStats}. A JDBC batch is prepared once and so counts once.
+ */
+public class StatementCountingInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryStats stats = QueryStats.current();
+        if (stats != null) {
+            stats.statementPrepared(sql);
+        }
+        return sql;
+    }
+}
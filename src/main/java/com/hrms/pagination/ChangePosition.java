@@ -0,0 +1,36 @@
+package com.hrms.pagination;
+
+import java.util.Comparator;
+
+/**
+ * Position in the change feed: the last row a client received. Rows are ordered by change sequence, then
+ * by kind, then by id, so rows written by the same statement keep a stable order across pages.
+ */
+public record ChangePosition(long sequence, int kind, long id) implements Comparable<ChangePosition> {
+
+    public static final int DEPARTMENT = 0;
+    public static final int EMPLOYEE = 1;
+    public static final int DELETED_EMPLOYEE = 2;
+
+    // Stamped rows start at sequence 1
+    public static final ChangePosition START = new ChangePosition(0, DEPARTMENT, 0);
+
+    private static final Comparator<ChangePosition> ORDER = Comparator.comparingLong(ChangePosition::sequence)
+            .thenComparingInt(ChangePosition::kind)
+            .thenComparingLong(ChangePosition::id);
+
+    /** Lowest sequence of rows of {@code rowKind} that may still follow this position. */
+    public long sequenceFor(int rowKind) {
+        return rowKind < kind ? sequence + 1 : sequence;
+    }
+
+    /** Rows of {@code rowKind} at {@link #sequenceFor} follow this position when their id is above this one. */
+    public long afterIdFor(int rowKind) {
+        return rowKind == kind ? id : Long.MIN_VALUE;
+    }
+
+    @Override
+    public int compareTo(ChangePosition other) {
+        return ORDER.compare(this, other);
+    }
+}
@@ -0,0 +1,83 @@
+package com.hrms.pagination;
+
+import com.hrms.exception.HrmsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * Encodes keyset positions as opaque URL-safe tokens and clamps requested page sizes.
+ */
+@Component
+public class CursorCodec {
+
+    private static final byte VERSION = 1;
+    private static final byte CHANGE_VERSION = 2;
+    private static final int CHANGE_TOKEN_BYTES = Byte.BYTES + Long.BYTES + Byte.BYTES + Long.BYTES;
+
+    @Value("${hrms.pagination.default-page-size:50}")
+    private int defaultPageSize;
+
+    @Value("${hrms.pagination.max-page-size:500}")
+    private int maxPageSize;
+
+    public String encode(long lastId) {
+        ByteBuffer buffer = ByteBuffer.allocate(Byte.BYTES + Long.BYTES);
+        buffer.put(VERSION).putLong(lastId);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    public long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Base64.getUrlDecoder().decode(cursor));
+            if (buffer.remaining() != Byte.BYTES + Long.BYTES || buffer.get() != VERSION) {
+                throw new HrmsException("Invalid cursor");
+            }
+            return buffer.getLong();
+        } catch (IllegalArgumentException e) {
+            throw new HrmsException("Invalid cursor");
+        }
+    }
+
+    public String encodeChange(ChangePosition position) {
+        ByteBuffer buffer = ByteBuffer.allocate(CHANGE_TOKEN_BYTES);
+        buffer.put(CHANGE_VERSION).putLong(position.sequence()).put((byte) position.kind()).putLong(position.id());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    public ChangePosition decodeChange(String token) {
+        if (token == null || token.isBlank()) {
+            return ChangePosition.START;
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Base64.getUrlDecoder().decode(token));
+            if (buffer.remaining() != CHANGE_TOKEN_BYTES || buffer.get() != CHANGE_VERSION) {
+                throw new HrmsException("Invalid change token");
+            }
+            long sequence = buffer.getLong();
+            int kind = buffer.get();
+            long id = buffer.getLong();
+            if (sequence < 0 || kind < ChangePosition.DEPARTMENT || kind > ChangePosition.DELETED_EMPLOYEE) {
+                throw new HrmsException("Invalid change token");
+            }
+            return new ChangePosition(sequence, kind, id);
+        } catch (IllegalArgumentException e) {
+            throw new HrmsException("Invalid change token");
+        }
+    }
+
+    public int pageSize(Integer requested) {
+        if (requested == null) {
+            return defaultPageSize;
+        }
+        if (requested < 1) {
+            throw new HrmsException("Page size must be positive");
+        }
+        return Math.min(requested, maxPageSize);
+    }
+}
@@ -1,9 +1,69 @@
 package com.hrms.repository;
 
+import com.hrms.DTOs.DepartmentDTO;
 import com.hrms.model.Department;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface DepartmentRepository extends JpaRepository<Department, Long> {
     Optional<Department> findByName(String name);
-}
\ No newline at end of file
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM Department d WHERE d.id = :id")
+    Optional<Department> findByIdForUpdate(@Param("id") Long id);
+
+    // One SELECT ... FOR UPDATE over the primary key, so the rows are locked in ascending id order
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM Department d WHERE d.id IN :ids ORDER BY d.id")
+    List<Department> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Sets the head of two departments in one statement. A head moving from the source department to the
+     * target department appears in both rows; H2 removes all old rows from the unique head_id index before
+     * adding the updated ones, so no intermediate flush that clears the old pointer is needed. The native
+     * query space evicts the department cache region; managed Department instances keep their old head.
+     */
+    @Modifying
+    @Query(value = "UPDATE departments SET head_id = CASE WHEN id = :sourceId THEN CAST(:sourceHeadId AS BIGINT) " +
+            "ELSE CAST(:targetHeadId AS BIGINT) END, version = version + 1, change_seq = :changeSeq " +
+            "WHERE id IN (:sourceId, :targetId)",
+            nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "departments"))
+    int swapHeads(@Param("sourceId") Long sourceId, @Param("sourceHeadId") Long sourceHeadId,
+                  @Param("targetId") Long targetId, @Param("targetHeadId") Long targetHeadId,
+                  @Param("changeSeq") long changeSeq);
+
+    // Delta sync: departments written after the position (sequence, afterId) up to the watermark
+    @EntityGraph(attributePaths = "head")
+    @Query("SELECT d FROM Department d WHERE d.changeSeq >= :sequence AND d.changeSeq <= :watermark " +
+            "AND (d.changeSeq > :sequence OR d.id > :afterId) ORDER BY d.changeSeq, d.id")
+    List<Department> findChangedAfter(@Param("sequence") long sequence, @Param("afterId") long afterId,
+                                      @Param("watermark") long watermark, Limit limit);
+
+    @Query("SELECT new com.hrms.DTOs.DepartmentDTO(d.id, d.name, d.description, h.id, h.name, COUNT(e.id)) " +
+            "FROM Department d LEFT JOIN d.head h LEFT JOIN d.employees e " +
+            "GROUP BY d.id, d.name, d.description, h.id, h.name ORDER BY d.id")
+    List<DepartmentDTO> findAllSummaries();
+
+    @Query("SELECT new com.hrms.DTOs.DepartmentDTO(d.id, d.name, d.description, h.id, h.name, COUNT(e.id)) " +
+            "FROM Department d LEFT JOIN d.head h LEFT JOIN d.employees e WHERE d.id = :id " +
+            "GROUP BY d.id, d.name, d.description, h.id, h.name")
+    Optional<DepartmentDTO> findSummaryById(@Param("id") Long id);
+
+    @Query("SELECT d.id AS id, d.version AS version, h.id AS headId, h.version AS headVersion " +
+            "FROM Department d LEFT JOIN d.head h ORDER BY d.id")
+    List<DepartmentVersion> findAllVersions();
+}
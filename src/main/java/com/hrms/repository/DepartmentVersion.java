@@ -0,0 +1,8 @@
+package com.hrms.repository;
+
+public interface DepartmentVersion {
+    Long getId();
+    Long getVersion();
+    Long getHeadId();
+    Long getHeadVersion();
+}
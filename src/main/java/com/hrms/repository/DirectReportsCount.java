@@ -0,0 +1,6 @@
+package com.hrms.repository;
+
+public interface DirectReportsCount {
+    Long getManagerId();
+    Long getReportsCount();
+}
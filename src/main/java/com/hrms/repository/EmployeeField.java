@@ -0,0 +1,62 @@
+package com.hrms.repository;
+
+import com.hrms.exception.HrmsException;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Employee attributes a client can ask for with {@code fields=}. Names match the JSON properties of
+ * {@link com.hrms.DTOs.EmployeeDTO}. Each field says what it costs: a join, or a report count.
+ */
+public enum EmployeeField {
+    ID("id"),
+    NAME("name"),
+    EMAIL("email"),
+    ROLE("role"),
+    DEPARTMENT_ID("departmentId"),
+    DEPARTMENT_NAME("departmentName"),
+    MANAGER_ID("managerId"),
+    MANAGER_NAME("managerName"),
+    CEO("ceo"),
+    DEPT_HEAD("deptHead"),
+    DIRECT_REPORTS_COUNT("directReportsCount");
+
+    private final String jsonName;
+
+    EmployeeField(String jsonName) {
+        this.jsonName = jsonName;
+    }
+
+    public String jsonName() {
+        return jsonName;
+    }
+
+    /**
+     * Parses a comma-separated list such as {@code id,name}. The id is always included because
+     * pagination cursors and client-side keys depend on it.
+     */
+    public static Set<EmployeeField> parse(String fields) {
+        Set<EmployeeField> parsed = EnumSet.of(ID);
+        if (fields == null || fields.isBlank()) {
+            throw new HrmsException("fields must list at least one of " + names());
+        }
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            parsed.add(Arrays.stream(values())
+                    .filter(field -> field.jsonName.equals(trimmed))
+                    .findFirst()
+                    .orElseThrow(() -> new HrmsException("Unknown field '" + trimmed + "'; expected one of " + names())));
+        }
+        return parsed;
+    }
+
+    private static String names() {
+        return Arrays.stream(values()).map(EmployeeField::jsonName).collect(Collectors.joining(", "));
+    }
+}
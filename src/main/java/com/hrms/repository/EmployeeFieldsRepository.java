@@ -0,0 +1,22 @@
+package com.hrms.repository;
+
+import com.hrms.model.Employee;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sparse employee reads: the SELECT list holds only the requested columns, and the department and
+ * manager tables are joined only when their names are requested. Rows come back as maps keyed by the
+ * JSON field name, in ascending id order. The direct report count is not a column and is left to the caller.
+ */
+public interface EmployeeFieldsRepository {
+
+    /** Internal key for the department foreign key, always selected so callers can check visibility. */
+    String DEPARTMENT_KEY = "_departmentId";
+
+    List<Map<String, Object>> findFields(Set<EmployeeField> fields, Specification<Employee> filter,
+                                         Long afterId, Integer limit);
+}
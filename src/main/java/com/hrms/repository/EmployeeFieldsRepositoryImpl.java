@@ -0,0 +1,95 @@
+package com.hrms.repository;
+
+import com.hrms.model.Department;
+import com.hrms.model.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class EmployeeFieldsRepositoryImpl implements EmployeeFieldsRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findFields(Set<EmployeeField> fields, Specification<Employee> filter,
+                                                Long afterId, Integer limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Employee> employee = query.from(Employee.class);
+
+        List<Selection<?>> selections = new ArrayList<>();
+        // The foreign key columns are read from the employees row itself, so ids need no join
+        selections.add(employee.get("department").get("id").alias(DEPARTMENT_KEY));
+        for (EmployeeField field : fields) {
+            switch (field) {
+                case ID -> selections.add(employee.get("id").alias(field.jsonName()));
+                case NAME -> selections.add(employee.get("name").alias(field.jsonName()));
+                case EMAIL -> selections.add(employee.get("email").alias(field.jsonName()));
+                case ROLE -> selections.add(employee.get("role").alias(field.jsonName()));
+                case CEO -> selections.add(employee.get("isCeo").alias(field.jsonName()));
+                case DEPT_HEAD -> selections.add(employee.get("isDeptHead").alias(field.jsonName()));
+                case DEPARTMENT_ID -> selections.add(employee.get("department").get("id").alias(field.jsonName()));
+                case MANAGER_ID -> selections.add(employee.get("manager").get("id").alias(field.jsonName()));
+                case DEPARTMENT_NAME -> {
+                    Join<Employee, Department> department = employee.join("department", JoinType.LEFT);
+                    selections.add(department.get("name").alias(field.jsonName()));
+                }
+                case MANAGER_NAME -> {
+                    Join<Employee, Employee> manager = employee.join("manager", JoinType.LEFT);
+                    selections.add(manager.get("name").alias(field.jsonName()));
+                }
+                case DIRECT_REPORTS_COUNT -> {
+                    // Counted by the caller from the org chart index or one grouped query per page
+                }
+            }
+        }
+        query.multiselect(selections);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter != null) {
+            Predicate predicate = filter.toPredicate(employee, query, cb);
+            if (predicate != null) {
+                predicates.add(predicate);
+            }
+        }
+        if (afterId != null) {
+            predicates.add(cb.greaterThan(employee.<Long>get("id"), afterId));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+        query.orderBy(cb.asc(employee.get("id")));
+
+        TypedQuery<Tuple> typed = entityManager.createQuery(query);
+        if (limit != null) {
+            typed.setMaxResults(limit);
+        }
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Tuple tuple : typed.getResultList()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put(DEPARTMENT_KEY, tuple.get(DEPARTMENT_KEY));
+            for (EmployeeField field : fields) {
+                if (field != EmployeeField.DIRECT_REPORTS_COUNT) {
+                    row.put(field.jsonName(), tuple.get(field.jsonName()));
+                }
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+}
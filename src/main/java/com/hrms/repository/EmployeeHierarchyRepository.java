@@ -0,0 +1,103 @@
+package com.hrms.repository;
+
+import com.hrms.model.EmployeeHierarchy;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+
+// Native writes name employee_hierarchy as their only query space, otherwise Hibernate would clear every
+// second-level cache region on each of them
+public interface EmployeeHierarchyRepository extends JpaRepository<EmployeeHierarchy, EmployeeHierarchy.Key> {
+
+    String HIERARCHY_TABLE = "employee_hierarchy";
+
+    boolean existsByAncestorIdAndDescendantId(Long ancestorId, Long descendantId);
+
+    boolean existsByAncestorIdInAndDescendantId(Collection<Long> ancestorIds, Long descendantId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = HIERARCHY_TABLE))
+    @Query(value = "INSERT INTO employee_hierarchy (ancestor_id, descendant_id, depth) VALUES (:id, :id, 0)",
+            nativeQuery = true)
+    int insertSelf(@Param("id") Long id);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = HIERARCHY_TABLE))
+    @Query(value = "INSERT INTO employee_hierarchy (ancestor_id, descendant_id, depth) " +
+            "SELECT id, id, 0 FROM employees WHERE id IN (:ids)", nativeQuery = true)
+    int insertSelfRows(@Param("ids") Collection<Long> ids);
+
+    // New leaf employees inherit every path that ends at their manager
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = HIERARCHY_TABLE))
+    @Query(value = "INSERT INTO employee_hierarchy (ancestor_id, descendant_id, depth) " +
+            "SELECT h.ancestor_id, e.id, h.depth + 1 " +
+            "FROM employees e JOIN employee_hierarchy h ON h.descendant_id = e.manager_id " +
+            "WHERE e.id IN (:ids)", nativeQuery = true)
+    int insertLeafAncestorRows(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = HIERARCHY_TABLE))
+    @Query(value = "INSERT INTO employee_hierarchy (ancestor_id, descendant_id, depth) " +
+            "SELECT a.ancestor_id, s.descendant_id, a.depth + s.depth + 1 " +
+            "FROM employee_hierarchy a CROSS JOIN employee_hierarchy s " +
+            "WHERE a.descendant_id = :parentId AND s.ancestor_id = :nodeId", nativeQuery = true)
+    int attachSubtree(@Param("nodeId") Long nodeId, @Param("parentId") Long parentId);
+
+    // Removes every path that enters the subtree rooted at nodeId from above it
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = HIERARCHY_TABLE))
+    @Query(value = "DELETE FROM employee_hierarchy " +
+            "WHERE descendant_id IN (SELECT s.descendant_id FROM employee_hierarchy s WHERE s.ancestor_id = :nodeId) " +
+            "AND ancestor_id IN (SELECT a.ancestor_id FROM employee_hierarchy a " +
+            "WHERE a.descendant_id = :nodeId AND a.ancestor_id <> :nodeId)", nativeQuery = true)
+    int detachSubtree(@Param("nodeId") Long nodeId);
+
+    // Removes every path from managerId or above into the subtrees rooted at nodeIds, which report to managerId
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = HIERARCHY_TABLE))
+    @Query(value = "DELETE FROM employee_hierarchy " +
+            "WHERE descendant_id IN (SELECT s.descendant_id FROM employee_hierarchy s WHERE s.ancestor_id IN (:nodeIds)) " +
+            "AND ancestor_id IN (SELECT a.ancestor_id FROM employee_hierarchy a WHERE a.descendant_id = :managerId)",
+            nativeQuery = true)
+    int detachReports(@Param("managerId") Long managerId, @Param("nodeIds") Collection<Long> nodeIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = HIERARCHY_TABLE))
+    @Query(value = "INSERT INTO employee_hierarchy (ancestor_id, descendant_id, depth) " +
+            "SELECT a.ancestor_id, s.descendant_id, a.depth + s.depth + 1 " +
+            "FROM employee_hierarchy a CROSS JOIN employee_hierarchy s " +
+            "WHERE a.descendant_id = :parentId AND s.ancestor_id IN (:nodeIds)", nativeQuery = true)
+    int attachSubtrees(@Param("nodeIds") Collection<Long> nodeIds, @Param("parentId") Long parentId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = HIERARCHY_TABLE))
+    @Query(value = "DELETE FROM employee_hierarchy WHERE ancestor_id = :id OR descendant_id = :id", nativeQuery = true)
+    int deleteNode(@Param("id") Long id);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = HIERARCHY_TABLE))
+    @Query(value = "DELETE FROM employee_hierarchy", nativeQuery = true)
+    int deleteAllRows();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = HIERARCHY_TABLE))
+    @Query(value = "INSERT INTO employee_hierarchy (ancestor_id, descendant_id, depth) " +
+            "SELECT id, id, 0 FROM employees", nativeQuery = true)
+    int insertAllSelfRows();
+
+    // Extends every path of the given depth by one level up the management chain
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = HIERARCHY_TABLE))
+    @Query(value = "INSERT INTO employee_hierarchy (ancestor_id, descendant_id, depth) " +
+            "SELECT e.manager_id, h.descendant_id, h.depth + 1 " +
+            "FROM employee_hierarchy h JOIN employees e ON e.id = h.ancestor_id " +
+            "WHERE h.depth = :depth AND e.manager_id IS NOT NULL", nativeQuery = true)
+    int insertNextLevel(@Param("depth") int depth);
+}
@@ -1,21 +1,126 @@
 package com.hrms.repository;
 
 import com.hrms.model.Employee;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, EmployeeFieldsRepository {
+
+    // Query cache region for lookups repeated on most write paths; any write to employees invalidates it
+    String REFERENCE_QUERY_REGION = "reference-queries";
+
+    @Override
+    @EntityGraph(attributePaths = {"department", "manager"})
+    List<Employee> findAll();
+
+    @EntityGraph(attributePaths = {"department", "manager"})
     List<Employee> findByDepartmentId(Long deptId);
+
+    @EntityGraph(attributePaths = {"department", "manager"})
     List<Employee> findByManagerId(Long managerId);
+
+    @EntityGraph(attributePaths = {"department", "manager"})
+    List<Employee> findByIdInOrderByIdAsc(Collection<Long> ids);
+
+    @EntityGraph(attributePaths = {"department", "manager"})
+    List<Employee> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    @EntityGraph(attributePaths = {"department", "manager"})
+    List<Employee> findByDepartmentIdAndIdGreaterThanOrderByIdAsc(Long deptId, Long afterId, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            // A full scan would push every employee through the second-level cache and evict the hot entries
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT e FROM Employee e LEFT JOIN FETCH e.department LEFT JOIN FETCH e.manager ORDER BY e.id")
+    Stream<Employee> streamAllOrderById();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT e.id AS id, m.id AS managerId, d.id AS departmentId, e.isCeo AS ceo " +
+            "FROM Employee e LEFT JOIN e.manager m LEFT JOIN e.department d")
+    Stream<OrgChartNode> streamOrgChartNodes();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT e.id AS id, e.name AS name, e.email AS email, d.id AS departmentId " +
+            "FROM Employee e LEFT JOIN e.department d")
+    Stream<EmployeeSearchEntry> streamSearchEntries();
+
+    @EntityGraph(attributePaths = {"department", "manager"})
+    @Query("SELECT e FROM Employee e, EmployeeHierarchy h " +
+            "WHERE h.ancestorId = :ancestorId AND h.descendantId = e.id " +
+            "AND h.depth BETWEEN 1 AND :maxDepth AND h.descendantId > :afterId ORDER BY h.descendantId")
+    List<Employee> findSubtreePage(@Param("ancestorId") Long ancestorId, @Param("maxDepth") int maxDepth,
+                                   @Param("afterId") Long afterId, Limit limit);
+
+    @Query("SELECT e.id AS id, m.id AS managerId, d.id AS departmentId, e.isCeo AS ceo " +
+            "FROM Employee e JOIN e.manager m LEFT JOIN e.department d WHERE m.id = :managerId")
+    List<OrgChartNode> findReportNodesByManagerId(@Param("managerId") Long managerId);
+
+    // Pending changes are flushed first; already loaded reports are not refreshed. VERSIONED bumps each
+    // report's version so their ETags change. Bulk updates skip entity listeners, so the change sequence is set here.
+    // A new manager who is one of the reports keeps reporting to the old one
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE VERSIONED Employee e SET e.manager = :to, e.changeSeq = :changeSeq WHERE e.manager = :from AND e <> :to")
+    int reassignReports(@Param("from") Employee from, @Param("to") Employee to, @Param("changeSeq") long changeSeq);
+
+    // Delta sync: rows written after the position (sequence, afterId) up to the watermark, read in
+    // (change_seq, id) order from idx_employees_change_seq
+    @EntityGraph(attributePaths = {"department", "manager"})
+    @Query("SELECT e FROM Employee e WHERE e.changeSeq >= :sequence AND e.changeSeq <= :watermark " +
+            "AND (e.changeSeq > :sequence OR e.id > :afterId) ORDER BY e.changeSeq, e.id")
+    List<Employee> findChangedAfter(@Param("sequence") long sequence, @Param("afterId") long afterId,
+                                    @Param("watermark") long watermark, Limit limit);
+
+    long countByManagerId(Long managerId);
+
+    long countByDepartmentId(Long departmentId);
+
+    @Query("SELECT e.manager.id AS managerId, COUNT(e) AS reportsCount FROM Employee e " +
+            "WHERE e.manager.id IN :managerIds GROUP BY e.manager.id")
+    List<DirectReportsCount> countDirectReportsByManagerIds(@Param("managerIds") Collection<Long> managerIds);
+
     Optional<Employee> findByEmail(String email);
+
+    @Query("SELECT e.email FROM Employee e WHERE e.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT DISTINCT e.department.id FROM Employee e WHERE e.manager.id = :managerId AND e.department IS NOT NULL")
+    List<Long> findDepartmentIdsByManagerId(@Param("managerId") Long managerId);
+
+    @EntityGraph(attributePaths = "department")
+    Optional<Employee> findWithDepartmentByEmail(String email);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = REFERENCE_QUERY_REGION)
+    })
     boolean existsByIsCeoTrue();
+
     List<Employee> findByRole(Employee.UserRole role);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = REFERENCE_QUERY_REGION)
+    })
     List<Employee> findByIsCeoTrue();
+
     List<Employee> findByIsDeptHeadTrue();
     boolean existsByDepartmentIdAndIsDeptHeadTrue(Long departmentId);
+    boolean existsByDepartmentIdAndManagerId(Long departmentId, Long managerId);
 
     List<Employee> findByManager(Employee movingHead);
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.hrms.repository;
+
+public interface EmployeeSearchEntry {
+    Long getId();
+    String getName();
+    String getEmail();
+    Long getDepartmentId();
+}
@@ -0,0 +1,41 @@
+package com.hrms.repository;
+
+import com.hrms.model.Employee;
+import com.hrms.model.EmployeeHierarchy;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Row filters for {@link EmployeeFieldsRepository#findFields}, matching the derived queries used by the
+ * full-DTO reads.
+ */
+public final class EmployeeSpecifications {
+
+    private EmployeeSpecifications() {
+    }
+
+    public static Specification<Employee> hasId(Long id) {
+        return (employee, query, cb) -> cb.equal(employee.get("id"), id);
+    }
+
+    public static Specification<Employee> inDepartment(Long departmentId) {
+        return (employee, query, cb) -> cb.equal(employee.get("department").get("id"), departmentId);
+    }
+
+    public static Specification<Employee> reportingTo(Long managerId) {
+        return (employee, query, cb) -> cb.equal(employee.get("manager").get("id"), managerId);
+    }
+
+    // Closure table lookup, as in EmployeeRepository.findSubtreePage
+    public static Specification<Employee> inSubtree(Long ancestorId, int maxDepth) {
+        return (employee, query, cb) -> {
+            Subquery<Long> descendants = query.subquery(Long.class);
+            Root<EmployeeHierarchy> hierarchy = descendants.from(EmployeeHierarchy.class);
+            descendants.select(hierarchy.<Long>get("descendantId"))
+                    .where(cb.equal(hierarchy.get("ancestorId"), ancestorId),
+                            cb.between(hierarchy.<Integer>get("depth"), 1, maxDepth));
+            return employee.get("id").in(descendants);
+        };
+    }
+}
@@ -0,0 +1,18 @@
+package com.hrms.repository;
+
+import com.hrms.model.EmployeeTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface EmployeeTombstoneRepository extends JpaRepository<EmployeeTombstone, Long> {
+
+    // Delta sync: deletions after the position (sequence, afterId) up to the watermark
+    @Query("SELECT t FROM EmployeeTombstone t WHERE t.changeSeq >= :sequence AND t.changeSeq <= :watermark " +
+            "AND (t.changeSeq > :sequence OR t.employeeId > :afterId) ORDER BY t.changeSeq, t.employeeId")
+    List<EmployeeTombstone> findChangedAfter(@Param("sequence") long sequence, @Param("afterId") long afterId,
+                                             @Param("watermark") long watermark, Limit limit);
+}
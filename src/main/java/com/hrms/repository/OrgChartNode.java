@@ -0,0 +1,8 @@
+package com.hrms.repository;
+
+public interface OrgChartNode {
+    Long getId();
+    Long getManagerId();
+    Long getDepartmentId();
+    Boolean getCeo();
+}
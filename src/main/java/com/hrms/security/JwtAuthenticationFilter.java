@@ -1,7 +1,7 @@
 package com.hrms.security;
 
 import com.hrms.model.Employee;
-import com.hrms.repository.EmployeeRepository;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -20,11 +20,11 @@ import java.util.Optional;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final EmployeeRepository employeeRepository;
+    private final PrincipalCache principalCache;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, EmployeeRepository employeeRepository) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, PrincipalCache principalCache) {
         this.jwtUtil = jwtUtil;
-        this.employeeRepository = employeeRepository;
+        this.principalCache = principalCache;
     }
 
     @Override
@@ -33,23 +33,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String email = null;
-        String jwt = null;
+        Claims claims = null;
 
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
+            String jwt = authorizationHeader.substring(7);
             try {
-                email = jwtUtil.extractEmail(jwt);
+                claims = jwtUtil.parseClaims(jwt);
             } catch (Exception e) {
             }
         }
 
-        if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            Optional<Employee> employeeOpt = employeeRepository.findByEmail(email);
+        if (claims != null && claims.getSubject() != null
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            Optional<Employee> employeeOpt = principalCache.findByEmail(claims.getSubject());
             
-            if (employeeOpt.isPresent() && jwtUtil.validateToken(jwt)) {
+            if (employeeOpt.isPresent()) {
                 Employee employee = employeeOpt.get();
-                String role = jwtUtil.extractRole(jwt);
+                String role = claims.get("role", String.class);
                 
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                     employee, null, Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role))
@@ -6,21 +6,34 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    private final long expiration;
+    private final int claimsCacheSize;
 
-    @Value("${jwt.expiration}")
-    private long expiration;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    // Verified claims keyed by SHA-256 of the token, so raw bearer tokens are never retained
+    private final ConcurrentHashMap<String, VerifiedClaims> claimsCache = new ConcurrentHashMap<>();
+
+    public JwtUtil(@Value("${jwt.secret}") String secret,
+                   @Value("${jwt.expiration}") long expiration,
+                   @Value("${jwt.claims-cache-size:10000}") int claimsCacheSize) {
+        this.expiration = expiration;
+        this.claimsCacheSize = claimsCacheSize;
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
     }
 
     public String generateToken(String email, String role) {
@@ -35,17 +48,48 @@ public class JwtUtil {
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * Returns the verified claims of a token, checking the signature at most once per token lifetime.
+     *
+     * @throws JwtException if the token is malformed, tampered with or expired
+     */
+    public Claims parseClaims(String token) {
+        if (claimsCacheSize <= 0) {
+            return parser.parseClaimsJws(token).getBody();
+        }
+
+        String key = digest(token);
+        long now = System.currentTimeMillis();
+        VerifiedClaims cached = claimsCache.get(key);
+        if (cached != null) {
+            if (cached.expiresAt() > now) {
+                return cached.claims();
+            }
+            claimsCache.remove(key, cached);
+        }
+
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        if (claims.getExpiration() != null) {
+            if (claimsCache.size() >= claimsCacheSize) {
+                evictExpired(now);
+            }
+            if (claimsCache.size() < claimsCacheSize) {
+                claimsCache.put(key, new VerifiedClaims(claims, claims.getExpiration().getTime()));
+            }
+        }
+        return claims;
+    }
+
     public String extractEmail(String token) {
         return extractClaim(token, Claims::getSubject);
     }
 
     public String extractRole(String token) {
-        Claims claims = extractAllClaims(token);
-        return claims.get("role", String.class);
+        return parseClaims(token).get("role", String.class);
     }
 
     public Date extractExpiration(String token) {
@@ -53,18 +97,10 @@ public class JwtUtil {
     }
 
     public <T> T extractClaim(String token, java.util.function.Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = parseClaims(token);
         return claimsResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
     public Boolean validateToken(String token) {
         try {
             return !isTokenExpired(token);
@@ -76,4 +112,20 @@ public class JwtUtil {
     private Boolean isTokenExpired(String token) {
         return extractExpiration(token).before(new Date());
     }
-} 
\ No newline at end of file
+
+    private void evictExpired(long now) {
+        claimsCache.values().removeIf(entry -> entry.expiresAt() <= now);
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record VerifiedClaims(Claims claims, long expiresAt) {
+    }
+}
@@ -0,0 +1,199 @@
+package com.hrms.security;
+
+import com.hrms.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs BCrypt hashing and verification on a small dedicated pool with a bounded queue, so a burst of
+ * logins cannot occupy every request thread. When the queue is full, or a hash is not done within
+ * the configured wait, callers get a {@link ServiceBusyException} which is answered with 503.
+ */
+@Component
+public class PasswordHasher {
+
+    private static final String BUSY_MESSAGE = "Server is busy, please retry shortly";
+    private static final long BATCH_RESUBMIT_MILLIS = 50;
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final int threads;
+    private final long maxWaitMillis;
+    private final long retryAfterSeconds;
+
+    private final Timer encodeQueueWait;
+    private final Timer encodeDuration;
+    private final Timer matchesQueueWait;
+    private final Timer matchesDuration;
+    private final Counter queueFullRejections;
+    private final Counter timeoutRejections;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder, MeterRegistry meterRegistry,
+                          @Value("${hrms.security.hashing.threads:0}") int threads,
+                          @Value("${hrms.security.hashing.queue-capacity:64}") int queueCapacity,
+                          @Value("${hrms.security.hashing.max-wait-ms:2000}") long maxWaitMillis,
+                          @Value("${hrms.security.hashing.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.passwordEncoder = passwordEncoder;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.maxWaitMillis = maxWaitMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("password-hash-");
+        threadFactory.setDaemon(true);
+        this.executor = new ThreadPoolExecutor(this.threads, this.threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeQueueWait = queueWaitTimer(meterRegistry, "encode");
+        this.encodeDuration = durationTimer(meterRegistry, "encode");
+        this.matchesQueueWait = queueWaitTimer(meterRegistry, "matches");
+        this.matchesDuration = durationTimer(meterRegistry, "matches");
+        this.queueFullRejections = Counter.builder("hrms.password.hash.rejections")
+                .tag("reason", "queue_full").register(meterRegistry);
+        this.timeoutRejections = Counter.builder("hrms.password.hash.rejections")
+                .tag("reason", "timeout").register(meterRegistry);
+        Gauge.builder("hrms.password.hash.queue.size", executor, e -> e.getQueue().size()).register(meterRegistry);
+        Gauge.builder("hrms.password.hash.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return await(submit(encodeQueueWait, encodeDuration, () -> passwordEncoder.encode(rawPassword)));
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return await(submit(matchesQueueWait, matchesDuration,
+                () -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    /**
+     * Hashes many passwords, each with its own salt, and returns one hash per input in the same order.
+     * At most one task per pool thread is in flight at a time, so a large batch never fills the queue
+     * that interactive logins rely on. Batch work is not interactive: when logins have filled the queue
+     * it waits for room instead of failing, and it waits for its own hashes without the login deadline.
+     */
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        List<String> hashes = new ArrayList<>(rawPasswords.size());
+        Deque<Future<String>> inFlight = new ArrayDeque<>(threads);
+        int next = 0;
+        try {
+            while (hashes.size() < rawPasswords.size()) {
+                while (next < rawPasswords.size() && inFlight.size() < threads) {
+                    CharSequence raw = rawPasswords.get(next++);
+                    inFlight.add(submitWhenQueued(encodeQueueWait, encodeDuration, () -> passwordEncoder.encode(raw)));
+                }
+                hashes.add(awaitBatch(inFlight.poll()));
+            }
+        } catch (RuntimeException e) {
+            inFlight.forEach(future -> future.cancel(true));
+            throw e;
+        }
+        return hashes;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> Future<T> submit(Timer queueWait, Timer duration, Callable<T> task) {
+        try {
+            return schedule(queueWait, duration, task);
+        } catch (RejectedExecutionException e) {
+            queueFullRejections.increment();
+            throw new ServiceBusyException(BUSY_MESSAGE, retryAfterSeconds);
+        }
+    }
+
+    // Retries until the queue has room; only a shut-down pool or an interrupt ends the wait
+    private <T> Future<T> submitWhenQueued(Timer queueWait, Timer duration, Callable<T> task) {
+        while (true) {
+            try {
+                return schedule(queueWait, duration, task);
+            } catch (RejectedExecutionException e) {
+                if (executor.isShutdown()) {
+                    throw new ServiceBusyException(BUSY_MESSAGE, retryAfterSeconds);
+                }
+            }
+            try {
+                Thread.sleep(BATCH_RESUBMIT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServiceBusyException(BUSY_MESSAGE, retryAfterSeconds);
+            }
+        }
+    }
+
+    private <T> Future<T> schedule(Timer queueWait, Timer duration, Callable<T> task) {
+        long submittedAt = System.nanoTime();
+        return executor.submit(() -> {
+            queueWait.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+            return duration.recordCallable(task);
+        });
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timeoutRejections.increment();
+            throw new ServiceBusyException(BUSY_MESSAGE, retryAfterSeconds);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException(BUSY_MESSAGE, retryAfterSeconds);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private <T> T awaitBatch(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException(BUSY_MESSAGE, retryAfterSeconds);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException("Password hashing failed", cause);
+    }
+
+    private static Timer queueWaitTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("hrms.password.hash.queue.wait").tag("operation", operation).register(meterRegistry);
+    }
+
+    private static Timer durationTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("hrms.password.hash.duration").tag("operation", operation).register(meterRegistry);
+    }
+}
@@ -0,0 +1,159 @@
+package com.hrms.security;
+
+import com.hrms.event.EmployeeChangedEvent;
+import com.hrms.event.EmployeesImportedEvent;
+import com.hrms.model.Employee;
+import com.hrms.repository.EmployeeRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded LRU cache of authenticated employees keyed by email, with a per-entry TTL.
+ * <p>
+ * Cached employees are detached with their department loaded, which is all the identity and
+ * authorization checks read. Entries are dropped when a committed change touches the employee.
+ */
+@Component
+public class PrincipalCache {
+
+    private final EmployeeRepository employeeRepository;
+    private final int maxSize;
+    private final long ttlMillis;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, Entry> byEmail;
+    private final Map<Long, String> emailById = new HashMap<>();
+    // Bumped by every invalidation so a load that raced with a commit is not cached
+    private long generation;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public PrincipalCache(EmployeeRepository employeeRepository,
+                          @Value("${hrms.security.principal-cache.max-size:10000}") int maxSize,
+                          @Value("${hrms.security.principal-cache.ttl-ms:300000}") long ttlMillis,
+                          MeterRegistry meterRegistry) {
+        this.employeeRepository = employeeRepository;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.byEmail = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > PrincipalCache.this.maxSize) {
+                    emailById.remove(eldest.getValue().employee().getId());
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        FunctionCounter.builder("hrms.principal.cache.requests", hits, LongAdder::sum)
+                .tag("result", "hit").register(meterRegistry);
+        FunctionCounter.builder("hrms.principal.cache.requests", misses, LongAdder::sum)
+                .tag("result", "miss").register(meterRegistry);
+        FunctionCounter.builder("hrms.principal.cache.evictions", evictions, LongAdder::sum).register(meterRegistry);
+        Gauge.builder("hrms.principal.cache.size", this, PrincipalCache::size).register(meterRegistry);
+    }
+
+    public Optional<Employee> findByEmail(String email) {
+        long now = System.currentTimeMillis();
+        long loadGeneration;
+        lock.lock();
+        try {
+            loadGeneration = generation;
+            Entry entry = byEmail.get(email);
+            if (entry != null && entry.expiresAt() > now) {
+                hits.increment();
+                return Optional.of(entry.employee());
+            }
+            if (entry != null) {
+                remove(email);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        misses.increment();
+        Optional<Employee> loaded = employeeRepository.findWithDepartmentByEmail(email);
+        loaded.ifPresent(employee -> {
+            lock.lock();
+            try {
+                if (loadGeneration != generation) {
+                    return;
+                }
+                remove(emailById.get(employee.getId()));
+                byEmail.put(email, new Entry(employee, now + ttlMillis));
+                emailById.put(employee.getId(), email);
+            } finally {
+                lock.unlock();
+            }
+        });
+        return loaded;
+    }
+
+    public void invalidate(Long employeeId) {
+        lock.lock();
+        try {
+            generation++;
+            remove(emailById.get(employeeId));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            generation++;
+            byEmail.clear();
+            emailById.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return byEmail.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        invalidate(event.employeeId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeesImported(EmployeesImportedEvent event) {
+        event.employees().forEach(employee -> invalidate(employee.employeeId()));
+    }
+
+    private void remove(String email) {
+        if (email == null) {
+            return;
+        }
+        Entry removed = byEmail.remove(email);
+        if (removed != null) {
+            emailById.remove(removed.employee().getId());
+        }
+    }
+
+    private record Entry(Employee employee, long expiresAt) {
+    }
+}
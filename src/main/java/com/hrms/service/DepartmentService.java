@@ -8,8 +8,10 @@ import java.util.List;
 
 public interface DepartmentService {
     DepartmentDTO createDepartment(DepartmentRequestDTO departmentRequestDTO);
-    DepartmentDTO updateDepartment(Long id, DepartmentUpdateDTO departmentUpdateDTO);
-    DepartmentDTO patchDepartment(Long id, DepartmentPatchDTO departmentPatchDTO);
+    DepartmentDTO updateDepartment(Long id, DepartmentUpdateDTO departmentUpdateDTO, String ifMatch);
+    DepartmentDTO patchDepartment(Long id, DepartmentPatchDTO departmentPatchDTO, String ifMatch);
     DepartmentDTO getDepartment(Long id);
+    String getDepartmentETag(Long id);
     List<DepartmentDTO> getAllDepartments();
+    String getAllDepartmentsETag();
 }
\ No newline at end of file
@@ -1,23 +1,49 @@
 package com.hrms.service;
 
+import com.hrms.DTOs.BulkImportResultDTO;
+import com.hrms.DTOs.CursorPageDTO;
+import com.hrms.DTOs.EmployeeChangesDTO;
 import com.hrms.DTOs.EmployeeDTO;
 import com.hrms.DTOs.EmployeeRequestDTO;
+import com.hrms.DTOs.EmployeeSearchResultDTO;
 import com.hrms.DTOs.EmployeeUpdateDTO;
 import com.hrms.DTOs.EmployeePatchDTO;
+import com.hrms.DTOs.ReportsReassignmentDTO;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Map;
 
 public interface EmployeeService {
     EmployeeDTO addEmployee(EmployeeRequestDTO employeeRequestDTO);
-    EmployeeDTO updateEmployee(Long id, EmployeeUpdateDTO employeeUpdateDTO);
-    EmployeeDTO patchEmployee(Long id, EmployeePatchDTO employeePatchDTO);
+    BulkImportResultDTO importEmployees(InputStream input, String contentType);
+    EmployeeDTO updateEmployee(Long id, EmployeeUpdateDTO employeeUpdateDTO, String ifMatch);
+    EmployeeDTO patchEmployee(Long id, EmployeePatchDTO employeePatchDTO, String ifMatch);
     EmployeeDTO getEmployee(Long id);
+    String getEmployeeETag(Long id);
     List<EmployeeDTO> getAllEmployees();
+    List<EmployeeSearchResultDTO> searchEmployees(String query, Integer limit);
     List<EmployeeDTO> getEmployeesByDept(Long deptId);
+    CursorPageDTO<EmployeeDTO> getEmployeesPage(String cursor, Integer size);
+    CursorPageDTO<EmployeeDTO> getEmployeesByDeptPage(Long deptId, String cursor, Integer size);
+    void exportEmployees(OutputStream out);
+    EmployeeChangesDTO getEmployeeChanges(String since, Integer size);
     List<EmployeeDTO> getEmployeesByManager(Long managerId);
+    CursorPageDTO<EmployeeDTO> getSubtree(Long employeeId, Integer maxDepth, String cursor, Integer size);
+    Map<String, Object> getEmployeeFields(Long id, String fields);
+    List<Map<String, Object>> getAllEmployeeFields(String fields);
+    CursorPageDTO<Map<String, Object>> getEmployeeFieldsPage(String cursor, Integer size, String fields);
+    List<Map<String, Object>> getEmployeeFieldsByDept(Long deptId, String fields);
+    CursorPageDTO<Map<String, Object>> getEmployeeFieldsByDeptPage(Long deptId, String cursor, Integer size, String fields);
+    List<Map<String, Object>> getEmployeeFieldsByManager(Long managerId, String fields);
+    CursorPageDTO<Map<String, Object>> getSubtreeFields(Long employeeId, Integer maxDepth, String cursor, Integer size,
+                                                        String fields);
     EmployeeDTO moveEmployee(Long empId, Long deptId);
     EmployeeDTO assignManager(Long empId, Long managerId);
+    ReportsReassignmentDTO reassignDirectReports(Long fromManagerId, Long toManagerId);
     void deleteEmployee(Long id);
     EmployeeDTO getCurrentUserProfile();
+    String getCurrentUserProfileETag();
     List<EmployeeDTO> getMyDirectReports();
 
     // New APIs
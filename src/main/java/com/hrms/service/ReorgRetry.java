@@ -0,0 +1,74 @@
+package com.hrms.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Re-runs a reorg when its transaction lost a lock race: a lock timeout, a deadlock chosen by the
+ * database, or a versioned row changed by a concurrent write. Each attempt must be a whole transaction,
+ * so this wraps the transactional service call from outside, never a method inside it. Backoff is
+ * exponential with full jitter so competing retries spread out. The last failure is rethrown once
+ * {@code hrms.reorg.retry.max-attempts} is reached.
+ */
+@Component
+public class ReorgRetry {
+
+    private static final Logger log = LoggerFactory.getLogger(ReorgRetry.class);
+
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final MeterRegistry meterRegistry;
+
+    public ReorgRetry(MeterRegistry meterRegistry,
+                      @Value("${hrms.reorg.retry.max-attempts:3}") int maxAttempts,
+                      @Value("${hrms.reorg.retry.initial-backoff-ms:20}") long initialBackoffMillis,
+                      @Value("${hrms.reorg.retry.max-backoff-ms:200}") long maxBackoffMillis) {
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+    }
+
+    public <T> T execute(String operation, Supplier<T> reorg) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return reorg.get();
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= maxAttempts) {
+                    counter("hrms.reorg.failures", operation).increment();
+                    log.warn("{} failed after {} attempts: {}", operation, attempt, e.getMessage());
+                    throw e;
+                }
+                counter("hrms.reorg.retries", operation).increment();
+                log.debug("{} attempt {} lost a lock race, retrying: {}", operation, attempt, e.getMessage());
+                backOff(attempt, e);
+            }
+        }
+    }
+
+    private void backOff(int attempt, ConcurrencyFailureException cause) {
+        long ceiling = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 20));
+        if (ceiling <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+
+    private Counter counter(String name, String operation) {
+        return Counter.builder(name).tag("operation", operation).register(meterRegistry);
+    }
+}
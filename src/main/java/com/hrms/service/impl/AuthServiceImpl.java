@@ -3,6 +3,7 @@ package com.hrms.service.impl;
 import com.hrms.DTOs.AuthDTO;
 import com.hrms.DTOs.EmployeeDTO;
 import com.hrms.DTOs.EmployeeRequestDTO;
+import com.hrms.event.EmployeeChangedEvent;
 import com.hrms.exception.HrmsException;
 import com.hrms.exception.UnauthorizedException;
 import com.hrms.model.Department;
@@ -10,10 +11,12 @@ import com.hrms.model.Employee;
 import com.hrms.repository.DepartmentRepository;
 import com.hrms.repository.EmployeeRepository;
 import com.hrms.security.JwtUtil;
+import com.hrms.security.PasswordHasher;
 import com.hrms.service.AuthService;
 import org.apache.catalina.util.StringUtil;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import java.util.Optional;
@@ -22,15 +25,21 @@ import java.util.Optional;
 public class AuthServiceImpl implements AuthService {
 
     private final EmployeeRepository employeeRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final JwtUtil jwtUtil;
     private final DepartmentRepository deptRepo;
+    private final EmployeeHierarchyMaintainer hierarchy;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public AuthServiceImpl(EmployeeRepository employeeRepository, PasswordEncoder passwordEncoder, JwtUtil jwtUtil, DepartmentRepository deptRepo) {
+    public AuthServiceImpl(EmployeeRepository employeeRepository, PasswordHasher passwordHasher, JwtUtil jwtUtil,
+                           DepartmentRepository deptRepo, EmployeeHierarchyMaintainer hierarchy,
+                           ApplicationEventPublisher eventPublisher) {
         this.employeeRepository = employeeRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
         this.jwtUtil = jwtUtil;
         this.deptRepo = deptRepo;
+        this.hierarchy = hierarchy;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -38,7 +47,7 @@ public class AuthServiceImpl implements AuthService {
         Employee employee = employeeRepository.findByEmail(authDTO.getEmail())
                 .orElseThrow(() -> new UnauthorizedException("Invalid email or password"));
 
-        if (!passwordEncoder.matches(authDTO.getPassword(), employee.getPassword())) {
+        if (!passwordHasher.matches(authDTO.getPassword(), employee.getPassword())) {
             throw new UnauthorizedException("Invalid email or password");
         }
 
@@ -46,6 +55,7 @@ public class AuthServiceImpl implements AuthService {
     }
 
     @Override
+    @Transactional
     public EmployeeDTO register(EmployeeRequestDTO employeeRequestDTO) {
 
 
@@ -90,7 +100,7 @@ public class AuthServiceImpl implements AuthService {
         Employee employee = new Employee();
         employee.setName(employeeRequestDTO.getName());
         employee.setEmail(employeeRequestDTO.getEmail());
-        employee.setPassword(passwordEncoder.encode(employeeRequestDTO.getPassword()));
+        employee.setPassword(passwordHasher.encode(employeeRequestDTO.getPassword()));
         employee.setRole(employeeRequestDTO.getRole());
         employee.setCeo(employeeRequestDTO.isCeo());
         employee.setDeptHead(employeeRequestDTO.isDeptHead());
@@ -98,6 +108,8 @@ public class AuthServiceImpl implements AuthService {
         employee.setManager(manager);
 
         Employee savedEmployee = employeeRepository.save(employee);
+        hierarchy.addEmployee(savedEmployee.getId(), manager.getId());
+        eventPublisher.publishEvent(EmployeeChangedEvent.of(EmployeeChangedEvent.ChangeType.CREATED, savedEmployee));
         return convertToDTO(savedEmployee);
     }
 
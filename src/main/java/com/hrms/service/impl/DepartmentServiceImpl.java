@@ -4,19 +4,25 @@ import com.hrms.DTOs.DepartmentDTO;
 import com.hrms.DTOs.DepartmentRequestDTO;
 import com.hrms.DTOs.DepartmentUpdateDTO;
 import com.hrms.DTOs.DepartmentPatchDTO;
+import com.hrms.event.DepartmentChangedEvent;
 import com.hrms.exception.HrmsException;
 import com.hrms.exception.UnauthorizedException;
+import com.hrms.index.OrgChartIndex;
 import com.hrms.model.Department;
 import com.hrms.model.Employee;
 import com.hrms.repository.DepartmentRepository;
+import com.hrms.repository.DepartmentVersion;
 import com.hrms.repository.EmployeeRepository;
 import com.hrms.service.DepartmentService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -24,10 +30,15 @@ public class DepartmentServiceImpl implements DepartmentService {
 
     private final DepartmentRepository deptRepo;
     private final EmployeeRepository empRepo;
+    private final OrgChartIndex orgChart;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public DepartmentServiceImpl(DepartmentRepository deptRepo, EmployeeRepository empRepo) {
+    public DepartmentServiceImpl(DepartmentRepository deptRepo, EmployeeRepository empRepo, OrgChartIndex orgChart,
+                                 ApplicationEventPublisher eventPublisher) {
         this.deptRepo = deptRepo;
         this.empRepo = empRepo;
+        this.orgChart = orgChart;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -37,51 +48,81 @@ public class DepartmentServiceImpl implements DepartmentService {
 
         Department department = convertToEntity(departmentRequestDTO);
         Department savedDepartment = deptRepo.save(department);
+        eventPublisher.publishEvent(DepartmentChangedEvent.of(DepartmentChangedEvent.ChangeType.CREATED, savedDepartment));
 
         return convertToDTO(savedDepartment);
     }
 
     @Override
-    public DepartmentDTO updateDepartment(Long id, DepartmentUpdateDTO departmentUpdateDTO) {
+    public DepartmentDTO updateDepartment(Long id, DepartmentUpdateDTO departmentUpdateDTO, String ifMatch) {
         ensureCeo();
         Department existingDepartment = deptRepo.findById(id)
                 .orElseThrow(() -> new HrmsException("Department not found"));
+        EntityTags.checkIfMatch(ifMatch, departmentTag(existingDepartment));
 
         validateDepartmentUpdate(existingDepartment, departmentUpdateDTO);
 
         updateDepartmentFields(existingDepartment, departmentUpdateDTO);
         Department savedDepartment = deptRepo.save(existingDepartment);
+        eventPublisher.publishEvent(DepartmentChangedEvent.of(DepartmentChangedEvent.ChangeType.UPDATED, savedDepartment));
 
         return convertToDTO(savedDepartment);
     }
 
     @Override
-    public DepartmentDTO patchDepartment(Long id, DepartmentPatchDTO departmentPatchDTO) {
+    public DepartmentDTO patchDepartment(Long id, DepartmentPatchDTO departmentPatchDTO, String ifMatch) {
         ensureCeo();
         Department existingDepartment = deptRepo.findById(id)
                 .orElseThrow(() -> new HrmsException("Department not found"));
+        EntityTags.checkIfMatch(ifMatch, departmentTag(existingDepartment));
 
         patchDepartmentFields(existingDepartment, departmentPatchDTO);
         Department savedDepartment = deptRepo.save(existingDepartment);
+        eventPublisher.publishEvent(DepartmentChangedEvent.of(DepartmentChangedEvent.ChangeType.UPDATED, savedDepartment));
 
         return convertToDTO(savedDepartment);
     }
 
+    // Department reads and their tags all run outside a transaction, so they go to the primary and take employee
+    // counts from the same place: a replica that lags the index could otherwise pair a new tag with an old body
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public DepartmentDTO getDepartment(Long id) {
-        Department department = deptRepo.findById(id)
-                .orElseThrow(() -> new HrmsException("Department not found"));
+        return convertToDTO(id);
+    }
 
-        return convertToDTO(department);
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public String getDepartmentETag(Long id) {
+        return departmentTag(deptRepo.findById(id)
+                .orElseThrow(() -> new HrmsException("Department not found")));
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<DepartmentDTO> getAllDepartments() {
-        return deptRepo.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        List<DepartmentDTO> departments = deptRepo.findAllSummaries();
+        if (countsFromIndex()) {
+            departments.forEach(department -> department.setEmployeeCount((long) orgChart.departmentSize(department.getId())));
+        }
+        return departments;
     }
 
+    // One small query over the departments table; employee counts come from the org chart index. Until the
+    // index is built there is no cheap tag, so the list is served without one.
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public String getAllDepartmentsETag() {
+        if (!countsFromIndex()) {
+            return null;
+        }
+        List<String> tags = new ArrayList<>();
+        for (DepartmentVersion version : deptRepo.findAllVersions()) {
+            tags.add(EntityTags.department(version.getId(), version.getVersion(), version.getHeadId(),
+                    version.getHeadVersion(), orgChart.departmentSize(version.getId())));
+        }
+        return EntityTags.combine(tags);
+    }
 
 
     private void validateDepartmentCreation(DepartmentRequestDTO departmentRequestDTO) {
@@ -122,15 +163,36 @@ public class DepartmentServiceImpl implements DepartmentService {
         return department;
     }
 
+    private String departmentTag(Department department) {
+        Employee head = department.getHead();
+        return EntityTags.department(department.getId(), department.getVersion(),
+                head != null ? head.getId() : null, head != null ? head.getVersion() : null,
+                employeeCount(department.getId()));
+    }
+
+    // Tags and bodies take their employee counts from here, so a tag always describes the body served with it
+    private long employeeCount(Long departmentId) {
+        return countsFromIndex() ? orgChart.departmentSize(departmentId) : empRepo.countByDepartmentId(departmentId);
+    }
+
+    // The index only sees changes once they commit, so a write transaction counts its own rows instead
+    private boolean countsFromIndex() {
+        return orgChart.isReady() && !(TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+    }
+
+    // Reads head and employee count through the summary projection instead of initializing lazy associations
     private DepartmentDTO convertToDTO(Department department) {
-        return DepartmentDTO.builder()
-                .id(department.getId())
-                .name(department.getName())
-                .description(department.getDescription())
-                .headId(department.getHead() != null ? department.getHead().getId() : null)
-                .headName(department.getHead() != null ? department.getHead().getName() : null)
-                .employeeCount(department.getEmployees() != null ? (long) department.getEmployees().size() : 0L)
-                .build();
+        return convertToDTO(department.getId());
+    }
+
+    private DepartmentDTO convertToDTO(Long id) {
+        DepartmentDTO department = deptRepo.findSummaryById(id)
+                .orElseThrow(() -> new HrmsException("Department not found"));
+        if (countsFromIndex()) {
+            department.setEmployeeCount((long) orgChart.departmentSize(id));
+        }
+        return department;
     }
 
     private void updateDepartmentFields(Department department, DepartmentUpdateDTO dto) {
@@ -0,0 +1,107 @@
+package com.hrms.service.impl;
+
+import com.hrms.exception.HrmsException;
+import com.hrms.repository.EmployeeHierarchyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Keeps the {@code employee_hierarchy} closure table in step with manager assignments. Callers run
+ * inside the service transaction, so the closure rows commit or roll back with the employee rows.
+ */
+@Component
+@Transactional
+public class EmployeeHierarchyMaintainer {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeHierarchyMaintainer.class);
+
+    private static final int MAX_DEPTH = 1000;
+    private static final int ID_BATCH_SIZE = 1000;
+
+    private final EmployeeHierarchyRepository hierarchyRepo;
+
+    public EmployeeHierarchyMaintainer(EmployeeHierarchyRepository hierarchyRepo) {
+        this.hierarchyRepo = hierarchyRepo;
+    }
+
+    public void addEmployee(Long employeeId, Long managerId) {
+        hierarchyRepo.insertSelf(employeeId);
+        if (managerId != null) {
+            hierarchyRepo.attachSubtree(employeeId, managerId);
+        }
+    }
+
+    /**
+     * Adds closure rows for a batch of new employees whose managers already have their rows, with two
+     * set-based statements per chunk instead of two per employee.
+     */
+    public void addEmployees(List<Long> employeeIds) {
+        for (int from = 0; from < employeeIds.size(); from += ID_BATCH_SIZE) {
+            List<Long> batch = employeeIds.subList(from, Math.min(from + ID_BATCH_SIZE, employeeIds.size()));
+            hierarchyRepo.insertSelfRows(batch);
+            hierarchyRepo.insertLeafAncestorRows(batch);
+        }
+    }
+
+    public void moveEmployee(Long employeeId, Long newManagerId) {
+        if (newManagerId != null && hierarchyRepo.existsByAncestorIdAndDescendantId(employeeId, newManagerId)) {
+            throw new HrmsException("Employee cannot report to someone in their own reporting line");
+        }
+        hierarchyRepo.detachSubtree(employeeId);
+        if (newManagerId != null) {
+            hierarchyRepo.attachSubtree(employeeId, newManagerId);
+        }
+    }
+
+    /**
+     * Moves the subtrees of {@code reportIds}, direct reports of {@code managerId}, under {@code newManagerId}
+     * with one delete and one insert per chunk of reports. The new manager may be another of
+     * {@code managerId}'s reports, but not one of the moved reports or anyone below them.
+     */
+    public void moveReports(Long managerId, List<Long> reportIds, Long newManagerId) {
+        for (int from = 0; from < reportIds.size(); from += ID_BATCH_SIZE) {
+            List<Long> batch = reportIds.subList(from, Math.min(from + ID_BATCH_SIZE, reportIds.size()));
+            if (hierarchyRepo.existsByAncestorIdInAndDescendantId(batch, newManagerId)) {
+                throw new HrmsException("Employee cannot report to someone in their own reporting line");
+            }
+        }
+        for (int from = 0; from < reportIds.size(); from += ID_BATCH_SIZE) {
+            List<Long> batch = reportIds.subList(from, Math.min(from + ID_BATCH_SIZE, reportIds.size()));
+            hierarchyRepo.detachReports(managerId, batch);
+            hierarchyRepo.attachSubtrees(batch, newManagerId);
+        }
+    }
+
+    public void removeEmployee(Long employeeId) {
+        hierarchyRepo.deleteNode(employeeId);
+    }
+
+    /**
+     * Recomputes the closure table from {@code employees.manager_id} one depth level per statement.
+     * Runs at startup ahead of the in-memory indexes because seeding writes employees directly.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void rebuild() {
+        hierarchyRepo.deleteAllRows();
+        int rows = hierarchyRepo.insertAllSelfRows();
+        int depth = 0;
+        int inserted = rows;
+        while (inserted > 0) {
+            if (depth >= MAX_DEPTH) {
+                throw new IllegalStateException("Reporting chain deeper than " + MAX_DEPTH + " levels; check for cycles");
+            }
+            inserted = hierarchyRepo.insertNextLevel(depth++);
+            rows += inserted;
+        }
+        log.info("Employee hierarchy closure rebuilt with {} rows over {} levels", rows, depth);
+    }
+}
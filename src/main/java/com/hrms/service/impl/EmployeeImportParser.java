@@ -0,0 +1,201 @@
+package com.hrms.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrms.DTOs.EmployeeRequestDTO;
+import com.hrms.exception.HrmsException;
+import com.hrms.model.Employee;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Parses bulk employee uploads. CSV needs a header row naming the columns
+ * {@code name,email,password,role,departmentId,managerId}; NDJSON carries one
+ * {@link EmployeeRequestDTO} object per line. Rows that cannot be read are returned with an error
+ * instead of failing the whole upload.
+ */
+@Component
+public class EmployeeImportParser {
+
+    public static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private static final List<String> REQUIRED_CSV_COLUMNS = List.of("name", "email", "password", "role");
+
+    private final ObjectMapper objectMapper;
+    private final int maxRows;
+
+    public EmployeeImportParser(ObjectMapper objectMapper, @Value("${hrms.import.max-rows:100000}") int maxRows) {
+        this.objectMapper = objectMapper;
+        this.maxRows = maxRows;
+    }
+
+    public record Row(int line, EmployeeRequestDTO employee, String error) {
+    }
+
+    public List<Row> parse(InputStream input, String contentType) {
+        MediaType mediaType;
+        try {
+            mediaType = MediaType.parseMediaType(contentType);
+        } catch (IllegalArgumentException e) {
+            throw new HrmsException("Bulk import accepts text/csv or application/x-ndjson");
+        }
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            if (TEXT_CSV.includes(mediaType)) {
+                return parseCsv(reader);
+            }
+            if (APPLICATION_NDJSON.includes(mediaType)) {
+                return parseNdjson(reader);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read bulk import", e);
+        }
+        throw new HrmsException("Bulk import accepts text/csv or application/x-ndjson");
+    }
+
+    private List<Row> parseCsv(BufferedReader reader) throws IOException {
+        List<Row> rows = new ArrayList<>();
+        String header = reader.readLine();
+        if (header == null) {
+            return rows;
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> headerValues = splitCsvLine(header);
+        for (int i = 0; i < headerValues.size(); i++) {
+            columns.put(headerValues.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : REQUIRED_CSV_COLUMNS) {
+            if (!columns.containsKey(required)) {
+                throw new HrmsException("CSV header is missing column: " + required);
+            }
+        }
+
+        int lineNumber = 1;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            checkRowLimit(rows);
+            try {
+                List<String> values = splitCsvLine(line);
+                EmployeeRequestDTO employee = EmployeeRequestDTO.builder()
+                        .name(column(values, columns, "name"))
+                        .email(column(values, columns, "email"))
+                        .password(column(values, columns, "password"))
+                        .role(parseRole(column(values, columns, "role")))
+                        .departmentId(parseId(column(values, columns, "departmentid"), "departmentId"))
+                        .managerId(parseId(column(values, columns, "managerid"), "managerId"))
+                        .build();
+                rows.add(new Row(lineNumber, employee, null));
+            } catch (IllegalArgumentException e) {
+                rows.add(new Row(lineNumber, null, e.getMessage()));
+            }
+        }
+        return rows;
+    }
+
+    private List<Row> parseNdjson(BufferedReader reader) throws IOException {
+        List<Row> rows = new ArrayList<>();
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            checkRowLimit(rows);
+            try {
+                rows.add(new Row(lineNumber, objectMapper.readValue(line, EmployeeRequestDTO.class), null));
+            } catch (JsonProcessingException e) {
+                rows.add(new Row(lineNumber, null, "Malformed JSON"));
+            }
+        }
+        return rows;
+    }
+
+    private void checkRowLimit(List<Row> rows) {
+        if (rows.size() >= maxRows) {
+            throw new HrmsException("Bulk import is limited to " + maxRows + " rows");
+        }
+    }
+
+    private static String column(List<String> values, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Employee.UserRole parseRole(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Employee.UserRole.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid role: " + value);
+        }
+    }
+
+    private static Long parseId(String value, String column) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + value);
+        }
+    }
+
+    // RFC 4180 fields on a single line: commas separate, double quotes wrap, "" escapes a quote
+    static List<String> splitCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted value");
+        }
+        values.add(current.toString());
+        return values;
+    }
+}
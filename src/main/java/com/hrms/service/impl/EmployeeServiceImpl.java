@@ -1,40 +1,141 @@
 package com.hrms.service.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.hrms.DTOs.BulkImportErrorDTO;
+import com.hrms.DTOs.BulkImportResultDTO;
+import com.hrms.DTOs.CursorPageDTO;
+import com.hrms.DTOs.DepartmentDTO;
+import com.hrms.DTOs.EmployeeChangesDTO;
 import com.hrms.DTOs.EmployeeDTO;
 import com.hrms.DTOs.EmployeeRequestDTO;
+import com.hrms.DTOs.EmployeeSearchResultDTO;
 import com.hrms.DTOs.EmployeeUpdateDTO;
 import com.hrms.DTOs.EmployeePatchDTO;
+import com.hrms.DTOs.ReportsReassignmentDTO;
+import com.hrms.event.DepartmentChangedEvent;
+import com.hrms.event.EmployeeChangedEvent;
+import com.hrms.event.EmployeesImportedEvent;
 import com.hrms.exception.HrmsException;
+import com.hrms.exception.ServiceBusyException;
 import com.hrms.exception.UnauthorizedException;
+import com.hrms.index.EmployeeSearchIndex;
+import com.hrms.index.OrgChartIndex;
 import com.hrms.model.Employee;
 import com.hrms.model.Department;
+import com.hrms.model.EmployeeTombstone;
+import com.hrms.pagination.ChangePosition;
+import com.hrms.pagination.CursorCodec;
+import com.hrms.repository.DirectReportsCount;
+import com.hrms.repository.EmployeeField;
+import com.hrms.repository.EmployeeFieldsRepository;
 import com.hrms.repository.EmployeeRepository;
+import com.hrms.repository.EmployeeSpecifications;
+import com.hrms.repository.EmployeeTombstoneRepository;
 import com.hrms.repository.DepartmentRepository;
+import com.hrms.repository.OrgChartNode;
+import com.hrms.security.PasswordHasher;
 import com.hrms.service.EmployeeService;
+import com.hrms.service.ReorgRetry;
+import com.hrms.sync.ChangeSequence;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.CollectionUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class EmployeeServiceImpl implements EmployeeService {
 
+    // Keeps IN lists of batched lookups well below driver limits
+    private static final int LOOKUP_BATCH_SIZE = 1000;
+    private static final int EXPORT_CHUNK_SIZE = 500;
+    // Matches hibernate.jdbc.batch_size so each flush sends one JDBC batch
+    private static final int IMPORT_BATCH_SIZE = 50;
+
     private final EmployeeRepository empRepo;
     private final DepartmentRepository deptRepo;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
+    private final CursorCodec cursorCodec;
+    private final ObjectWriter employeeWriter;
+    private final OrgChartIndex orgChart;
+    private final EmployeeHierarchyMaintainer hierarchy;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EmployeeImportParser importParser;
+    private final Validator validator;
+    private final EmployeeSearchIndex searchIndex;
+    private final int searchDefaultLimit;
+    private final int searchMaxLimit;
+    private final EmployeeTombstoneRepository tombstoneRepo;
+    private final ChangeSequence changeSequence;
+    private final ReorgRetry reorgRetry;
+    private final TransactionTemplate transactionTemplate;
+
+    private record ChangedRow(ChangePosition position, Object row) {
+    }
+
+    private record ImportedRows(List<Employee> employees, List<BulkImportErrorDTO> rejected) {
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     public EmployeeServiceImpl(EmployeeRepository empRepo, DepartmentRepository deptRepo,
-            PasswordEncoder passwordEncoder) {
+            PasswordHasher passwordHasher, CursorCodec cursorCodec, ObjectMapper objectMapper,
+            OrgChartIndex orgChart, EmployeeHierarchyMaintainer hierarchy, ApplicationEventPublisher eventPublisher,
+            EmployeeImportParser importParser, Validator validator, EmployeeSearchIndex searchIndex,
+            @Value("${hrms.search.default-limit:10}") int searchDefaultLimit,
+            @Value("${hrms.search.max-limit:50}") int searchMaxLimit,
+            EmployeeTombstoneRepository tombstoneRepo, ChangeSequence changeSequence, ReorgRetry reorgRetry,
+            PlatformTransactionManager transactionManager) {
         this.empRepo = empRepo;
         this.deptRepo = deptRepo;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
+        this.cursorCodec = cursorCodec;
+        this.employeeWriter = objectMapper.writerFor(EmployeeDTO.class);
+        this.orgChart = orgChart;
+        this.hierarchy = hierarchy;
+        this.eventPublisher = eventPublisher;
+        this.importParser = importParser;
+        this.validator = validator;
+        this.searchIndex = searchIndex;
+        this.searchDefaultLimit = searchDefaultLimit;
+        this.searchMaxLimit = searchMaxLimit;
+        this.tombstoneRepo = tombstoneRepo;
+        this.changeSequence = changeSequence;
+        this.reorgRetry = reorgRetry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Override
@@ -96,13 +197,17 @@ public class EmployeeServiceImpl implements EmployeeService {
             }
             deptToUpdate.setHead(savedEmployee);
             deptRepo.save(deptToUpdate);
+            publishHeadChange(deptToUpdate, savedEmployee);
         }
 
+        hierarchy.addEmployee(savedEmployee.getId(),
+                savedEmployee.getManager() != null ? savedEmployee.getManager().getId() : null);
+        publishChange(EmployeeChangedEvent.ChangeType.CREATED, savedEmployee);
         return convertToDTO(savedEmployee);
     }
 
     @Override
-    public EmployeeDTO updateEmployee(Long id, EmployeeUpdateDTO employeeUpdateDTO) {
+    public EmployeeDTO updateEmployee(Long id, EmployeeUpdateDTO employeeUpdateDTO, String ifMatch) {
         Employee existingEmployee = empRepo.findById(id)
                 .orElseThrow(() -> new HrmsException("Employee not found"));
 
@@ -116,6 +221,8 @@ public class EmployeeServiceImpl implements EmployeeService {
             throw new UnauthorizedException(
                     "You cannot modify your own details.");
         }
+        // Checked against the state loaded in this transaction; the version check on flush catches later writers
+        EntityTags.checkIfMatch(ifMatch, employeeTag(existingEmployee));
 
         if (employeeUpdateDTO.getManagerId() != null || employeeUpdateDTO.getDepartmentId() != null) {
 
@@ -129,12 +236,13 @@ public class EmployeeServiceImpl implements EmployeeService {
 
         updateEmployeeFields(existingEmployee, employeeUpdateDTO);
         Employee savedEmployee = empRepo.save(existingEmployee);
+        publishChange(EmployeeChangedEvent.ChangeType.UPDATED, savedEmployee);
 
         return convertToDTO(savedEmployee);
     }
 
     @Override
-    public EmployeeDTO patchEmployee(Long id, EmployeePatchDTO employeePatchDTO) {
+    public EmployeeDTO patchEmployee(Long id, EmployeePatchDTO employeePatchDTO, String ifMatch) {
         Employee existingEmployee = empRepo.findById(id)
                 .orElseThrow(() -> new HrmsException("Employee not found"));
 
@@ -148,6 +256,7 @@ public class EmployeeServiceImpl implements EmployeeService {
         if (currentUser.getId().equals(id)) {
             throw new UnauthorizedException("You cannot modify your own details.");
         }
+        EntityTags.checkIfMatch(ifMatch, employeeTag(existingEmployee));
 
        if (employeePatchDTO.getManagerId() != null || employeePatchDTO.getDepartmentId() != null) {
 
@@ -158,12 +267,24 @@ public class EmployeeServiceImpl implements EmployeeService {
 
         patchEmployeeFields(existingEmployee, employeePatchDTO);
         Employee savedEmployee = empRepo.save(existingEmployee);
+        publishChange(EmployeeChangedEvent.ChangeType.UPDATED, savedEmployee);
 
         return convertToDTO(savedEmployee);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public EmployeeDTO getEmployee(Long id) {
+        return convertToDTO(findViewableEmployee(id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getEmployeeETag(Long id) {
+        return employeeTag(findViewableEmployee(id));
+    }
+
+    private Employee findViewableEmployee(Long id) {
         Employee employee = empRepo.findById(id)
                 .orElseThrow(() -> new HrmsException("Employee not found"));
 
@@ -171,24 +292,395 @@ public class EmployeeServiceImpl implements EmployeeService {
         if (!currentUser.canViewEmployee(employee)) {
             throw new UnauthorizedException("You are not authorized to view this employee");
         }
+        return employee;
+    }
 
-        return convertToDTO(employee);
+    // Served from the in-memory index only; visibility mirrors Employee.canViewEmployee on the index's department ids
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<EmployeeSearchResultDTO> searchEmployees(String query, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new HrmsException("Search query is required");
+        }
+        if (!searchIndex.isReady()) {
+            throw new ServiceBusyException("Employee search is still loading, please retry shortly", 1);
+        }
+        int size = limit == null || limit < 1 ? searchDefaultLimit : Math.min(limit, searchMaxLimit);
+
+        Employee currentUser = getCurrentUser();
+        long selfId = currentUser.getId();
+        long headOfDepartment = currentUser.isDeptHead() && currentUser.getDepartment() != null
+                ? currentUser.getDepartment().getId() : OrgChartIndex.NONE;
+        boolean seesEveryone = currentUser.isCeo();
+        EmployeeSearchIndex.Visibility visibility = (employeeId, departmentId) -> seesEveryone
+                || employeeId == selfId
+                || (headOfDepartment != OrgChartIndex.NONE && departmentId == headOfDepartment);
+
+        return searchIndex.search(query, size, visibility).stream()
+                .map(hit -> EmployeeSearchResultDTO.builder()
+                        .id(hit.id())
+                        .name(hit.name())
+                        .email(hit.email())
+                        .departmentId(hit.departmentId() != OrgChartIndex.NONE ? hit.departmentId() : null)
+                        .score(hit.score())
+                        .build())
+                .collect(Collectors.toList());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<EmployeeDTO> getAllEmployees() {
         Employee currentUser = getCurrentUser();
         if (!currentUser.isCeo()) {
             throw new UnauthorizedException("Only CEO can view all employees");
         }
 
-        return empRepo.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(empRepo.findAll());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<EmployeeDTO> getEmployeesByDept(Long deptId) {
+        ensureCanViewDepartmentEmployees(deptId);
+
+        return convertToDTOs(empRepo.findByDepartmentId(deptId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<EmployeeDTO> getEmployeesPage(String cursor, Integer size) {
+        Employee currentUser = getCurrentUser();
+        if (!currentUser.isCeo()) {
+            throw new UnauthorizedException("Only CEO can view all employees");
+        }
+
+        int pageSize = cursorCodec.pageSize(size);
+        List<Employee> employees = empRepo.findByIdGreaterThanOrderByIdAsc(
+                cursorCodec.decode(cursor), Limit.of(pageSize + 1));
+        return toCursorPage(employees, pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<EmployeeDTO> getEmployeesByDeptPage(Long deptId, String cursor, Integer size) {
+        ensureCanViewDepartmentEmployees(deptId);
+
+        int pageSize = cursorCodec.pageSize(size);
+        List<Employee> employees = empRepo.findByDepartmentIdAndIdGreaterThanOrderByIdAsc(
+                deptId, cursorCodec.decode(cursor), Limit.of(pageSize + 1));
+        return toCursorPage(employees, pageSize);
+    }
+
+    /**
+     * Returns the departments, employees and deletions committed after {@code since}, oldest first. Each kind
+     * is read with a range scan over its (change_seq, id) index that stops at the change sequence watermark,
+     * so a sync costs O(changes) and never skips a row whose transaction was still open.
+     * <p>
+     * Not read-only on purpose: the watermark is a primary position, and a lagging replica could be missing
+     * rows below it that the returned token would then skip for good.
+     */
+    @Override
+    public EmployeeChangesDTO getEmployeeChanges(String since, Integer size) {
+        Employee currentUser = getCurrentUser();
+        if (!currentUser.isCeo()) {
+            throw new UnauthorizedException("Only CEO can sync all employees");
+        }
+
+        int pageSize = cursorCodec.pageSize(size);
+        ChangePosition from = cursorCodec.decodeChange(since);
+        long watermark = changeSequence.watermark();
+        if (from.sequence() > watermark) {
+            throw new HrmsException("Change token is ahead of this server; resync from a full read");
+        }
+
+        // Each kind fetches one row past the page, so leftovers after the merge mean there is more
+        Limit limit = Limit.of(pageSize + 1);
+        List<ChangedRow> changes = new ArrayList<>();
+        for (Department department : deptRepo.findChangedAfter(from.sequenceFor(ChangePosition.DEPARTMENT),
+                from.afterIdFor(ChangePosition.DEPARTMENT), watermark, limit)) {
+            changes.add(new ChangedRow(new ChangePosition(department.getChangeSeq(), ChangePosition.DEPARTMENT,
+                    department.getId()), department));
+        }
+        for (Employee employee : empRepo.findChangedAfter(from.sequenceFor(ChangePosition.EMPLOYEE),
+                from.afterIdFor(ChangePosition.EMPLOYEE), watermark, limit)) {
+            changes.add(new ChangedRow(new ChangePosition(employee.getChangeSeq(), ChangePosition.EMPLOYEE,
+                    employee.getId()), employee));
+        }
+        for (EmployeeTombstone tombstone : tombstoneRepo.findChangedAfter(
+                from.sequenceFor(ChangePosition.DELETED_EMPLOYEE), from.afterIdFor(ChangePosition.DELETED_EMPLOYEE),
+                watermark, limit)) {
+            changes.add(new ChangedRow(new ChangePosition(tombstone.getChangeSeq(), ChangePosition.DELETED_EMPLOYEE,
+                    tombstone.getEmployeeId()), tombstone));
+        }
+        changes.sort(Comparator.comparing(ChangedRow::position));
+
+        boolean hasMore = changes.size() > pageSize;
+        List<ChangedRow> page = hasMore ? changes.subList(0, pageSize) : changes;
+        List<Employee> employees = new ArrayList<>();
+        List<DepartmentDTO> departments = new ArrayList<>();
+        List<Long> deletedEmployeeIds = new ArrayList<>();
+        for (ChangedRow change : page) {
+            switch (change.row()) {
+                case Employee employee -> employees.add(employee);
+                case Department department -> departments.add(DepartmentDTO.builder()
+                        .id(department.getId())
+                        .name(department.getName())
+                        .description(department.getDescription())
+                        .headId(department.getHead() != null ? department.getHead().getId() : null)
+                        .headName(department.getHead() != null ? department.getHead().getName() : null)
+                        .build());
+                case EmployeeTombstone tombstone -> deletedEmployeeIds.add(tombstone.getEmployeeId());
+                default -> throw new IllegalStateException("Unexpected change " + change.row());
+            }
+        }
+
+        return EmployeeChangesDTO.builder()
+                .employees(convertToDTOs(employees))
+                .departments(departments)
+                .deletedEmployeeIds(deletedEmployeeIds)
+                .nextToken(cursorCodec.encodeChange(page.isEmpty() ? from : page.get(page.size() - 1).position()))
+                .hasMore(hasMore)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportEmployees(OutputStream out) {
+        Employee currentUser = getCurrentUser();
+        if (!currentUser.isCeo()) {
+            throw new UnauthorizedException("Only CEO can export all employees");
+        }
+
+        List<Employee> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+        try (Stream<Employee> employees = empRepo.streamAllOrderById()) {
+            Iterator<Employee> iterator = employees.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == EXPORT_CHUNK_SIZE) {
+                    writeExportChunk(chunk, out);
+                }
+            }
+            writeExportChunk(chunk, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write employee export", e);
+        }
+    }
+
+    // Writes one NDJSON line per employee, flushes, then detaches the chunk so the heap stays flat
+    private void writeExportChunk(List<Employee> chunk, OutputStream out) throws IOException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        for (EmployeeDTO dto : convertToDTOs(chunk)) {
+            out.write(employeeWriter.writeValueAsBytes(dto));
+            out.write('\n');
+        }
+        out.flush();
+        chunk.clear();
+        entityManager.clear();
+    }
+
+    /**
+     * Imports in three steps so that no transaction or lock is held while BCrypt runs. Rows are first
+     * validated against lookups read without locks, then hashed. Last, one short write transaction locks
+     * the affected departments in ascending id order, re-checks the rows against what is committed by now,
+     * and inserts them in batches. A row that a concurrent change made invalid is reported, not inserted.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkImportResultDTO importEmployees(InputStream input, String contentType) {
+        Employee currentUser = getCurrentUser();
+        if (!currentUser.canManageEmployees()) {
+            throw new UnauthorizedException("Only CEO or department heads can import employees");
+        }
+
+        List<EmployeeImportParser.Row> rows = importParser.parse(input, contentType);
+        List<BulkImportErrorDTO> errors = new ArrayList<>();
+        List<EmployeeImportParser.Row> parsed = new ArrayList<>();
+        for (EmployeeImportParser.Row row : rows) {
+            if (row.error() != null) {
+                errors.add(importError(row, row.error()));
+            } else {
+                parsed.add(row);
+            }
+        }
+
+        Map<Long, Department> departments = deptRepo.findAll().stream()
+                .collect(Collectors.toMap(Department::getId, Function.identity()));
+        List<EmployeeImportParser.Row> accepted = validateImportRows(parsed, currentUser, departments, errors);
+
+        /*
+         * BCrypt dominates the cost of an import. Every row gets its own salted hash, computed on the shared
+         * hashing pool, one task per pool thread at a time.
+         */
+        List<String> passwordHashes = passwordHasher.encodeAll(accepted.stream()
+                .map(row -> row.employee().getPassword())
+                .collect(Collectors.toList()));
+        Map<EmployeeImportParser.Row, String> hashByRow = new IdentityHashMap<>();
+        for (int i = 0; i < accepted.size(); i++) {
+            hashByRow.put(accepted.get(i), passwordHashes.get(i));
+        }
+
+        ImportedRows written = accepted.isEmpty() ? new ImportedRows(List.of(), List.of())
+                : reorgRetry.execute("bulk-import", () -> transactionTemplate.execute(
+                        status -> insertImportedRows(accepted, hashByRow, currentUser)));
+        errors.addAll(written.rejected());
+
+        errors.sort((a, b) -> Integer.compare(a.getLine(), b.getLine()));
+        return BulkImportResultDTO.builder()
+                .totalRows(rows.size())
+                .importedCount(written.employees().size())
+                .errors(errors)
+                .build();
+    }
+
+    // Runs in the import's write transaction; the department locks make the re-check and the insert atomic
+    private ImportedRows insertImportedRows(List<EmployeeImportParser.Row> accepted,
+            Map<EmployeeImportParser.Row, String> hashByRow, Employee currentUser) {
+        // Under open-in-view the request's persistence context still holds the unlocked validation reads
+        entityManager.clear();
+        Map<Long, Department> departments = lockDepartments(accepted.stream()
+                .map(row -> row.employee().getDepartmentId())
+                .collect(Collectors.toList()));
+        List<BulkImportErrorDTO> rejected = new ArrayList<>();
+        List<EmployeeImportParser.Row> stillValid = validateImportRows(accepted, currentUser, departments, rejected);
+        Map<Long, Employee> managers = loadImportManagers(stillValid.stream()
+                .map(EmployeeImportParser.Row::employee)
+                .collect(Collectors.toList()));
+
+        List<Employee> imported = new ArrayList<>(stillValid.size());
+        for (EmployeeImportParser.Row row : stillValid) {
+            EmployeeRequestDTO dto = row.employee();
+            Employee employee = new Employee();
+            employee.setName(dto.getName());
+            employee.setEmail(dto.getEmail());
+            employee.setRole(dto.getRole());
+            employee.setPassword(hashByRow.get(row));
+            employee.setDepartment(departments.get(dto.getDepartmentId()));
+            employee.setManager(managers.get(dto.getManagerId()));
+            imported.add(employee);
+        }
+
+        for (int from = 0; from < imported.size(); from += IMPORT_BATCH_SIZE) {
+            empRepo.saveAll(imported.subList(from, Math.min(from + IMPORT_BATCH_SIZE, imported.size())));
+            entityManager.flush();
+            entityManager.clear();
+        }
+
+        hierarchy.addEmployees(imported.stream().map(Employee::getId).collect(Collectors.toList()));
+        if (!imported.isEmpty()) {
+            eventPublisher.publishEvent(EmployeesImportedEvent.of(imported));
+        }
+        return new ImportedRows(imported, rejected);
+    }
+
+    // Checks rows in file order, so of two rows that conflict with each other the earlier one wins
+    private List<EmployeeImportParser.Row> validateImportRows(List<EmployeeImportParser.Row> rows,
+            Employee currentUser, Map<Long, Department> departments, List<BulkImportErrorDTO> errors) {
+        List<EmployeeRequestDTO> requests = rows.stream()
+                .map(EmployeeImportParser.Row::employee)
+                .collect(Collectors.toList());
+
+        // Everything the row checks need is loaded up front instead of queried per row
+        Map<Long, Employee> managers = loadImportManagers(requests);
+        Set<String> takenEmails = loadExistingEmails(requests);
+        Employee ceo = empRepo.findByIsCeoTrue().stream().findFirst().orElse(null);
+        Set<Long> departmentsReportingToCeo = ceo == null ? new HashSet<>()
+                : new HashSet<>(empRepo.findDepartmentIdsByManagerId(ceo.getId()));
+
+        List<EmployeeImportParser.Row> accepted = new ArrayList<>();
+        for (EmployeeImportParser.Row row : rows) {
+            String error = validateImportRow(row.employee(), currentUser, departments, managers, takenEmails,
+                    departmentsReportingToCeo);
+            if (error != null) {
+                errors.add(importError(row, error));
+                continue;
+            }
+            EmployeeRequestDTO dto = row.employee();
+            takenEmails.add(dto.getEmail());
+            if (managers.get(dto.getManagerId()).isCeo()) {
+                departmentsReportingToCeo.add(dto.getDepartmentId());
+            }
+            accepted.add(row);
+        }
+        return accepted;
+    }
+
+    private String validateImportRow(EmployeeRequestDTO dto, Employee currentUser, Map<Long, Department> departments,
+            Map<Long, Employee> managers, Set<String> takenEmails, Set<Long> departmentsReportingToCeo) {
+        Set<ConstraintViolation<EmployeeRequestDTO>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            return violations.iterator().next().getMessage();
+        }
+        if (dto.isCeo() || dto.isDeptHead()) {
+            return "Bulk import cannot create the CEO or department heads";
+        }
+        if (takenEmails.contains(dto.getEmail())) {
+            return "Email already exists";
+        }
+        if (dto.getDepartmentId() == null) {
+            return "Department is required";
+        }
+        if (!departments.containsKey(dto.getDepartmentId())) {
+            return "Department not found";
+        }
+        if (currentUser.isDeptHead() && !currentUser.getDepartment().getId().equals(dto.getDepartmentId())) {
+            return "Department head can create employees only in their department";
+        }
+        if (dto.getManagerId() == null) {
+            return "Non-CEO employees must have a manager";
+        }
+        Employee manager = managers.get(dto.getManagerId());
+        if (manager == null) {
+            return "Manager not found";
+        }
+        if (!manager.isCeo() && (manager.getDepartment() == null
+                || !manager.getDepartment().getId().equals(dto.getDepartmentId()))) {
+            return "Manager must be from the same department or be the CEO";
+        }
+        if (manager.isCeo() && departmentsReportingToCeo.contains(dto.getDepartmentId())) {
+            return "Only one employee per department can report directly to CEO";
+        }
+        return null;
+    }
+
+    private Map<Long, Employee> loadImportManagers(List<EmployeeRequestDTO> requests) {
+        List<Long> managerIds = requests.stream()
+                .map(EmployeeRequestDTO::getManagerId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+        Map<Long, Employee> managers = new HashMap<>();
+        for (int from = 0; from < managerIds.size(); from += LOOKUP_BATCH_SIZE) {
+            empRepo.findAllById(managerIds.subList(from, Math.min(from + LOOKUP_BATCH_SIZE, managerIds.size())))
+                    .forEach(manager -> managers.put(manager.getId(), manager));
+        }
+        return managers;
+    }
+
+    private Set<String> loadExistingEmails(List<EmployeeRequestDTO> requests) {
+        List<String> emails = requests.stream()
+                .map(EmployeeRequestDTO::getEmail)
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < emails.size(); from += LOOKUP_BATCH_SIZE) {
+            existing.addAll(empRepo.findExistingEmails(
+                    emails.subList(from, Math.min(from + LOOKUP_BATCH_SIZE, emails.size()))));
+        }
+        return existing;
+    }
+
+    private static BulkImportErrorDTO importError(EmployeeImportParser.Row row, String message) {
+        return BulkImportErrorDTO.builder()
+                .line(row.line())
+                .email(row.employee() != null ? row.employee().getEmail() : null)
+                .message(message)
+                .build();
+    }
+
+    private void ensureCanViewDepartmentEmployees(Long deptId) {
         Employee currentUser = getCurrentUser();
         Department department = deptRepo.findById(deptId)
                 .orElseThrow(() -> new HrmsException("Department not found"));
@@ -198,10 +690,20 @@ public class EmployeeServiceImpl implements EmployeeService {
         if (!allowed) {
             throw new UnauthorizedException("Only CEO or the department head can view employees in this department");
         }
+    }
 
-        return empRepo.findByDepartmentId(deptId).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    // Repository queries fetch one extra row so the presence of a next page is known without a count query
+    private CursorPageDTO<EmployeeDTO> toCursorPage(List<Employee> employees, int pageSize) {
+        boolean hasMore = employees.size() > pageSize;
+        List<Employee> page = hasMore ? employees.subList(0, pageSize) : employees;
+        String nextCursor = hasMore ? cursorCodec.encode(page.get(page.size() - 1).getId()) : null;
+
+        return CursorPageDTO.<EmployeeDTO>builder()
+                .items(convertToDTOs(page))
+                .size(page.size())
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
     }
 
     @Override
@@ -218,10 +720,17 @@ public class EmployeeServiceImpl implements EmployeeService {
             throw new HrmsException("This endpoint is only for moving department heads");
         }
 
-        Department targetDepartment = deptRepo.findById(deptId)
+        Department sourceDepartment = movingHead.getDepartment();
+        Map<Long, Department> locked = lockDepartments(
+                sourceDepartment != null ? List.of(sourceDepartment.getId(), deptId) : List.of(deptId));
+        Department targetDepartment = Optional.ofNullable(locked.get(deptId))
                 .orElseThrow(() -> new HrmsException("Target department not found"));
+        if (targetDepartment.equals(sourceDepartment)) {
+            throw new HrmsException("Employee is already the head of the target department");
+        }
 
-        Department sourceDepartment = movingHead.getDepartment();
+        Employee chiefExecutive = empRepo.findByIsCeoTrue().stream().findFirst()
+                .orElseThrow(() -> new HrmsException("CEO not found"));
 
         // If target department has a head, demote them and set their manager to the
         // moving head
@@ -229,29 +738,31 @@ public class EmployeeServiceImpl implements EmployeeService {
         if (existingTargetHead != null) {
             existingTargetHead.setDeptHead(false);
             existingTargetHead.setManager(movingHead);
-            empRepo.save(existingTargetHead);
-        }
-
-        // Break old head link first to satisfy unique head constraint
-        if (sourceDepartment != null) {
-            sourceDepartment.setHead(null);
-            deptRepo.save(sourceDepartment);
-            deptRepo.flush();
         }
 
         // Move head to target department and set CEO as manager
-        Employee chiefExecutive = empRepo.findByIsCeoTrue().stream().findFirst()
-                .orElseThrow(() -> new HrmsException("CEO not found"));
         movingHead.setDepartment(targetDepartment);
         movingHead.setManager(chiefExecutive);
         movingHead.setDeptHead(true);
-        empRepo.save(movingHead);
 
-        // Update department head pointers
-        targetDepartment.setHead(movingHead);
-        deptRepo.save(targetDepartment);
-        deptRepo.flush();
+        // Both head pointers change in one statement; the employee rows above go out together in the next flush
+        if (sourceDepartment != null) {
+            deptRepo.swapHeads(sourceDepartment.getId(), null, targetDepartment.getId(), movingHead.getId(),
+                    changeSequence.next());
+        } else {
+            targetDepartment.setHead(movingHead);
+        }
 
+        if (existingTargetHead != null) {
+            hierarchy.moveEmployee(existingTargetHead.getId(), movingHead.getId());
+            publishChange(EmployeeChangedEvent.ChangeType.MOVED, existingTargetHead);
+        }
+        hierarchy.moveEmployee(movingHead.getId(), chiefExecutive.getId());
+        publishChange(EmployeeChangedEvent.ChangeType.MOVED, movingHead);
+        if (sourceDepartment != null) {
+            publishHeadChange(sourceDepartment, null);
+        }
+        publishHeadChange(targetDepartment, movingHead);
         return convertToDTO(movingHead);
     }
 
@@ -278,12 +789,28 @@ public class EmployeeServiceImpl implements EmployeeService {
         }
 
         empRepo.delete(employee);
+        // persist, not save: the id is assigned, so save would merge and select the row first
+        entityManager.persist(new EmployeeTombstone(employee.getId()));
+        hierarchy.removeEmployee(employee.getId());
+        publishChange(EmployeeChangedEvent.ChangeType.DELETED, employee);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public EmployeeDTO getCurrentUserProfile() {
-        Employee currentUser = getCurrentUser();
-        return convertToDTO(currentUser);
+        return convertToDTO(findCurrentUserEmployee());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getCurrentUserProfileETag() {
+        return employeeTag(findCurrentUserEmployee());
+    }
+
+    // The cached principal may be stale, so the profile is always read from the employee row
+    private Employee findCurrentUserEmployee() {
+        return empRepo.findById(getCurrentUser().getId())
+                .orElseThrow(() -> new UnauthorizedException("User not found"));
     }
 
     private void validateEmployeeCreation(EmployeeRequestDTO employeeRequestDTO, Employee currentUser) {
@@ -360,7 +887,7 @@ public class EmployeeServiceImpl implements EmployeeService {
         employee.setCeo(dto.isCeo());
 
         if (dto.getPassword() != null && !dto.getPassword().trim().isEmpty()) {
-            employee.setPassword(passwordEncoder.encode(dto.getPassword()));
+            employee.setPassword(passwordHasher.encode(dto.getPassword()));
         }
 
         if (dto.getDepartmentId() != null) {
@@ -378,6 +905,92 @@ public class EmployeeServiceImpl implements EmployeeService {
     }
 
     private EmployeeDTO convertToDTO(Employee employee) {
+        return convertToDTO(employee, directReportCount(employee.getId()));
+    }
+
+    // Entity reads come from the second-level cache and the report count from the org chart index once it is
+    // built, so checking a poller's If-None-Match usually runs no SQL
+    private String employeeTag(Employee employee) {
+        return EntityTags.employee(employee, directReportCount(employee.getId()));
+    }
+
+    // Tags and bodies take their report counts from here, so a tag always describes the body served with it
+    private long directReportCount(Long id) {
+        return countsFromIndex() ? orgChart.directReportCount(id) : empRepo.countByManagerId(id);
+    }
+
+    // The index only sees changes once they commit, so a write transaction counts its own rows instead
+    private boolean countsFromIndex() {
+        return orgChart.isReady() && !(TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+    }
+
+    /**
+     * Converts a page of employees, reading direct report counts from the org chart index, or with a
+     * single grouped count query per batch while the index is still being built or inside a write.
+     */
+    private List<EmployeeDTO> convertToDTOs(List<Employee> employees) {
+        if (employees.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Long> reportsCountByManager = directReportCounts(
+                employees.stream().map(Employee::getId).collect(Collectors.toList()));
+        return employees.stream()
+                .map(e -> convertToDTO(e, reportsCountByManager.getOrDefault(e.getId(), 0L)))
+                .collect(Collectors.toList());
+    }
+
+    private Map<Long, Long> directReportCounts(List<Long> ids) {
+        Map<Long, Long> reportsCountByManager = new HashMap<>();
+        if (countsFromIndex()) {
+            for (Long id : ids) {
+                reportsCountByManager.put(id, (long) orgChart.directReportCount(id));
+            }
+            return reportsCountByManager;
+        }
+        for (int from = 0; from < ids.size(); from += LOOKUP_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + LOOKUP_BATCH_SIZE, ids.size()));
+            for (DirectReportsCount count : empRepo.countDirectReportsByManagerIds(batch)) {
+                reportsCountByManager.put(count.getManagerId(), count.getReportsCount());
+            }
+        }
+        return reportsCountByManager;
+    }
+
+    /**
+     * Finishes sparse rows from {@link EmployeeRepository#findFields}: adds report counts only when they
+     * were asked for, and drops the department key that was selected for visibility checks.
+     */
+    private List<Map<String, Object>> finishSparseRows(List<Map<String, Object>> rows, Set<EmployeeField> fields) {
+        if (fields.contains(EmployeeField.DIRECT_REPORTS_COUNT) && !rows.isEmpty()) {
+            Map<Long, Long> counts = directReportCounts(rows.stream()
+                    .map(row -> (Long) row.get(EmployeeField.ID.jsonName()))
+                    .collect(Collectors.toList()));
+            for (Map<String, Object> row : rows) {
+                row.put(EmployeeField.DIRECT_REPORTS_COUNT.jsonName(),
+                        counts.getOrDefault((Long) row.get(EmployeeField.ID.jsonName()), 0L));
+            }
+        }
+        rows.forEach(row -> row.remove(EmployeeFieldsRepository.DEPARTMENT_KEY));
+        return rows;
+    }
+
+    private CursorPageDTO<Map<String, Object>> toSparsePage(List<Map<String, Object>> rows, Set<EmployeeField> fields,
+                                                            int pageSize) {
+        boolean hasMore = rows.size() > pageSize;
+        List<Map<String, Object>> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore
+                ? cursorCodec.encode((Long) page.get(page.size() - 1).get(EmployeeField.ID.jsonName())) : null;
+
+        return CursorPageDTO.<Map<String, Object>>builder()
+                .items(finishSparseRows(new ArrayList<>(page), fields))
+                .size(page.size())
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private EmployeeDTO convertToDTO(Employee employee, long directReportsCount) {
         return EmployeeDTO.builder()
                 .id(employee.getId())
                 .name(employee.getName())
@@ -389,15 +1002,15 @@ public class EmployeeServiceImpl implements EmployeeService {
                 .departmentName(employee.getDepartment() != null ? employee.getDepartment().getName() : null)
                 .managerId(employee.getManager() != null ? employee.getManager().getId() : null)
                 .managerName(employee.getManager() != null ? employee.getManager().getName() : null)
-                .directReportsCount(empRepo.findByManagerId(employee.getId()).stream().count())
+                .directReportsCount(directReportsCount)
                 .build();
     }
 
+    // The principal comes from PrincipalCache: detached, with its department loaded, and evicted on any change
     private Employee getCurrentUser() {
         try {
-            Employee employee = (Employee) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-            return empRepo.findById(employee.getId())
-                    .orElseThrow(() -> new UnauthorizedException("User not found"));
+            return (Employee) Objects.requireNonNull(
+                    SecurityContextHolder.getContext().getAuthentication().getPrincipal());
         } catch (Exception e) {
             throw new UnauthorizedException("Unable to get current user");
         }
@@ -411,7 +1024,7 @@ public class EmployeeServiceImpl implements EmployeeService {
         if (dto.getRole() != null)
             employee.setRole(dto.getRole());
         if (dto.getPassword() != null && !dto.getPassword().trim().isEmpty()) {
-            employee.setPassword(passwordEncoder.encode(dto.getPassword()));
+            employee.setPassword(passwordHasher.encode(dto.getPassword()));
         }
     }
 
@@ -423,11 +1036,12 @@ public class EmployeeServiceImpl implements EmployeeService {
         if (dto.getRole() != null)
             employee.setRole(dto.getRole());
         if (dto.getPassword() != null && !dto.getPassword().trim().isEmpty()) {
-            employee.setPassword(passwordEncoder.encode(dto.getPassword()));
+            employee.setPassword(passwordHasher.encode(dto.getPassword()));
         }
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<EmployeeDTO> getEmployeesByManager(Long managerId) {
         Employee manager = empRepo.findById(managerId)
                 .orElseThrow(() -> new HrmsException("Manager not found"));
@@ -437,9 +1051,116 @@ public class EmployeeServiceImpl implements EmployeeService {
             throw new UnauthorizedException("You are not authorized to view this manager's reports");
         }
 
-        return empRepo.findByManagerId(managerId).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(findDirectReports(managerId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<EmployeeDTO> getSubtree(Long employeeId, Integer maxDepth, String cursor, Integer size) {
+        Employee root = empRepo.findById(employeeId)
+                .orElseThrow(() -> new HrmsException("Employee not found"));
+
+        Employee currentUser = getCurrentUser();
+        if (!currentUser.canViewEmployee(root)) {
+            throw new UnauthorizedException("You are not authorized to view this employee's reports");
+        }
+        if (maxDepth != null && maxDepth < 1) {
+            throw new HrmsException("Depth must be at least 1");
+        }
+
+        int pageSize = cursorCodec.pageSize(size);
+        List<Employee> employees = empRepo.findSubtreePage(employeeId,
+                maxDepth != null ? maxDepth : Integer.MAX_VALUE, cursorCodec.decode(cursor), Limit.of(pageSize + 1));
+        return toCursorPage(employees, pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Object> getEmployeeFields(Long id, String fields) {
+        Set<EmployeeField> requested = EmployeeField.parse(fields);
+        List<Map<String, Object>> rows = empRepo.findFields(requested, EmployeeSpecifications.hasId(id), null, 1);
+        if (rows.isEmpty()) {
+            throw new HrmsException("Employee not found");
+        }
+        Map<String, Object> row = rows.get(0);
+        if (!getCurrentUser().canViewEmployee(id, (Long) row.get(EmployeeFieldsRepository.DEPARTMENT_KEY))) {
+            throw new UnauthorizedException("You are not authorized to view this employee");
+        }
+        return finishSparseRows(rows, requested).get(0);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllEmployeeFields(String fields) {
+        Set<EmployeeField> requested = EmployeeField.parse(fields);
+        if (!getCurrentUser().isCeo()) {
+            throw new UnauthorizedException("Only CEO can view all employees");
+        }
+        return finishSparseRows(empRepo.findFields(requested, null, null, null), requested);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<Map<String, Object>> getEmployeeFieldsPage(String cursor, Integer size, String fields) {
+        Set<EmployeeField> requested = EmployeeField.parse(fields);
+        if (!getCurrentUser().isCeo()) {
+            throw new UnauthorizedException("Only CEO can view all employees");
+        }
+        int pageSize = cursorCodec.pageSize(size);
+        return toSparsePage(empRepo.findFields(requested, null, cursorCodec.decode(cursor), pageSize + 1),
+                requested, pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getEmployeeFieldsByDept(Long deptId, String fields) {
+        Set<EmployeeField> requested = EmployeeField.parse(fields);
+        ensureCanViewDepartmentEmployees(deptId);
+        return finishSparseRows(empRepo.findFields(requested, EmployeeSpecifications.inDepartment(deptId), null, null),
+                requested);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<Map<String, Object>> getEmployeeFieldsByDeptPage(Long deptId, String cursor, Integer size,
+                                                                          String fields) {
+        Set<EmployeeField> requested = EmployeeField.parse(fields);
+        ensureCanViewDepartmentEmployees(deptId);
+        int pageSize = cursorCodec.pageSize(size);
+        return toSparsePage(empRepo.findFields(requested, EmployeeSpecifications.inDepartment(deptId),
+                cursorCodec.decode(cursor), pageSize + 1), requested, pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getEmployeeFieldsByManager(Long managerId, String fields) {
+        Set<EmployeeField> requested = EmployeeField.parse(fields);
+        Employee manager = empRepo.findById(managerId)
+                .orElseThrow(() -> new HrmsException("Manager not found"));
+        if (!getCurrentUser().canViewEmployee(manager)) {
+            throw new UnauthorizedException("You are not authorized to view this manager's reports");
+        }
+        return finishSparseRows(empRepo.findFields(requested, EmployeeSpecifications.reportingTo(managerId), null, null),
+                requested);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<Map<String, Object>> getSubtreeFields(Long employeeId, Integer maxDepth, String cursor,
+                                                               Integer size, String fields) {
+        Set<EmployeeField> requested = EmployeeField.parse(fields);
+        Employee root = empRepo.findById(employeeId)
+                .orElseThrow(() -> new HrmsException("Employee not found"));
+        if (!getCurrentUser().canViewEmployee(root)) {
+            throw new UnauthorizedException("You are not authorized to view this employee's reports");
+        }
+        if (maxDepth != null && maxDepth < 1) {
+            throw new HrmsException("Depth must be at least 1");
+        }
+        int pageSize = cursorCodec.pageSize(size);
+        return toSparsePage(empRepo.findFields(requested,
+                EmployeeSpecifications.inSubtree(employeeId, maxDepth != null ? maxDepth : Integer.MAX_VALUE),
+                cursorCodec.decode(cursor), pageSize + 1), requested, pageSize);
     }
 
     @Override
@@ -454,16 +1175,115 @@ public class EmployeeServiceImpl implements EmployeeService {
 
         employee.setManager(manager);
         Employee savedEmployee = empRepo.save(employee);
+        hierarchy.moveEmployee(savedEmployee.getId(), manager.getId());
+        publishChange(EmployeeChangedEvent.ChangeType.MOVED, savedEmployee);
 
         return convertToDTO(savedEmployee);
     }
 
     @Override
-    public List<EmployeeDTO> getMyDirectReports() {
+    public ReportsReassignmentDTO reassignDirectReports(Long fromManagerId, Long toManagerId) {
+        if (fromManagerId.equals(toManagerId)) {
+            throw new HrmsException("Reports already belong to this manager");
+        }
+
+        Employee from = empRepo.findById(fromManagerId)
+                .orElseThrow(() -> new HrmsException("Manager not found"));
+        Employee to = empRepo.findById(toManagerId)
+                .orElseThrow(() -> new HrmsException("New manager not found"));
+
         Employee currentUser = getCurrentUser();
-        return empRepo.findByManagerId(currentUser.getId()).stream()
-                .map(this::convertToDTO)
+        boolean allowed = currentUser.isCeo() || (currentUser.isDeptHead() && from.getDepartment() != null
+                && from.getDepartment().equals(currentUser.getDepartment()));
+        if (!allowed) {
+            throw new UnauthorizedException("Only CEO or the department head can reassign these reports");
+        }
+        if (from.isCeo()) {
+            throw new HrmsException("CEO's direct reports cannot be reassigned in bulk");
+        }
+
+        // The new manager may be one of the reports; it stays where it is and takes over the rest
+        List<OrgChartNode> reports = empRepo.findReportNodesByManagerId(from.getId()).stream()
+                .filter(report -> !report.getId().equals(to.getId()))
                 .collect(Collectors.toList());
+        validateReportsReassignment(reports, to);
+        int reassigned = moveDirectReports(from, to, reports);
+
+        return ReportsReassignmentDTO.builder()
+                .fromManagerId(from.getId())
+                .toManagerId(to.getId())
+                .reassignedCount(reassigned)
+                .build();
+    }
+
+    // validateManagerAssignment's department and CEO rules, checked once for the whole set of reports
+    private void validateReportsReassignment(List<OrgChartNode> reports, Employee manager) {
+        Long managerDeptId = manager.getDepartment() != null ? manager.getDepartment().getId() : null;
+        Set<Long> reportDepartments = new HashSet<>();
+        for (OrgChartNode report : reports) {
+            Long deptId = report.getDepartmentId();
+            if (deptId == null) {
+                continue;
+            }
+            if (managerDeptId != null && !managerDeptId.equals(deptId)) {
+                throw new HrmsException("Employee and manager must be in same department");
+            }
+            if (manager.isCeo() && !reportDepartments.add(deptId)) {
+                throw new HrmsException("Only one employee per department can report directly to CEO");
+            }
+        }
+        if (manager.isCeo() && !reportDepartments.isEmpty()) {
+            lockDepartments(reportDepartments);
+            for (Long deptId : reportDepartments) {
+                if (empRepo.existsByDepartmentIdAndManagerId(deptId, manager.getId())) {
+                    throw new HrmsException("Only one employee per department can report directly to CEO");
+                }
+            }
+        }
+    }
+
+    /**
+     * Points every direct report of {@code from} other than {@code to} at {@code to} with a single UPDATE
+     * and moves their subtrees in the closure table set-wise. Callers validate the move first and leave
+     * {@code to} out of {@code reports}.
+     */
+    private int moveDirectReports(Employee from, Employee to, List<OrgChartNode> reports) {
+        if (reports.isEmpty()) {
+            return 0;
+        }
+        hierarchy.moveReports(from.getId(),
+                reports.stream().map(OrgChartNode::getId).collect(Collectors.toList()), to.getId());
+        int reassigned = empRepo.reassignReports(from, to, changeSequence.next());
+        for (OrgChartNode report : reports) {
+            eventPublisher.publishEvent(new EmployeeChangedEvent(EmployeeChangedEvent.ChangeType.MOVED,
+                    report.getId(), to.getId(), report.getDepartmentId(), Boolean.TRUE.equals(report.getCeo()),
+                    null, null));
+        }
+        return reassigned;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmployeeDTO> getMyDirectReports() {
+        Employee currentUser = getCurrentUser();
+        return convertToDTOs(findDirectReports(currentUser.getId()));
+    }
+
+    /**
+     * Resolves the report ids from the org chart index and loads them by primary key in batches, in id
+     * order. Falls back to the manager_id query while the index is still being built.
+     */
+    private List<Employee> findDirectReports(Long managerId) {
+        if (!orgChart.isReady()) {
+            return empRepo.findByManagerId(managerId);
+        }
+        List<Long> ids = new ArrayList<>(orgChart.directReportCount(managerId));
+        orgChart.forEachDirectReport(managerId, ids::add);
+        List<Employee> reports = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += LOOKUP_BATCH_SIZE) {
+            reports.addAll(empRepo.findByIdInOrderByIdAsc(ids.subList(from, Math.min(from + LOOKUP_BATCH_SIZE, ids.size()))));
+        }
+        return reports;
     }
 
     private void validateManagerAssignment(Employee employee, Employee manager) {
@@ -480,17 +1300,27 @@ public class EmployeeServiceImpl implements EmployeeService {
             throw new HrmsException("Employee and manager must be in same department");
         }
 
-        if (manager.isCeo() && employee.getDepartment() != null) {
-            long directReportsToCEO = empRepo.findByDepartmentId(employee.getDepartment().getId())
-                    .stream()
-                    .filter(e -> e.getManager() != null && e.getManager().isCeo())
-                    .count();
-            if (directReportsToCEO >= 1) {
-                throw new HrmsException("Only one employee per department can report directly to CEO");
-            }
+        if (employee.getId() != null && orgChart.isInReportingChain(employee.getId(), manager.getId())) {
+            throw new HrmsException("Employee cannot report to someone in their own reporting line");
+        }
+
+        if (manager.isCeo() && employee.getDepartment() != null
+                && hasCeoDirectReport(employee.getDepartment().getId(), manager.getId())) {
+            throw new HrmsException("Only one employee per department can report directly to CEO");
         }
     }
 
+    /**
+     * Checks the one-CEO-report-per-department rule with an index lookup on (department_id, manager_id).
+     * The department row is locked first so concurrent assignments into the same department serialize
+     * and the second one sees the first one's report.
+     */
+    private boolean hasCeoDirectReport(Long deptId, Long ceoId) {
+        deptRepo.findByIdForUpdate(deptId)
+                .orElseThrow(() -> new HrmsException("Department not found"));
+        return empRepo.existsByDepartmentIdAndManagerId(deptId, ceoId);
+    }
+
     @Override
     public EmployeeDTO moveEmployeeWithManager(Long empId, Long newDeptId, Long newManagerId) {
         Employee currentUser = getCurrentUser();
@@ -513,7 +1343,9 @@ public class EmployeeServiceImpl implements EmployeeService {
             }
         }
 
-        Department newDept = deptRepo.findById(newDeptId)
+        Map<Long, Department> locked = lockDepartments(Arrays.asList(
+                employee.getDepartment() != null ? employee.getDepartment().getId() : null, newDeptId));
+        Department newDept = Optional.ofNullable(locked.get(newDeptId))
                 .orElseThrow(() -> new HrmsException("Department not found"));
         Employee newManager = empRepo.findById(newManagerId)
                 .orElseThrow(() -> new HrmsException("Manager not found"));
@@ -525,11 +1357,7 @@ public class EmployeeServiceImpl implements EmployeeService {
             }
         } else {
             // CEO manager rule: only one direct report per department
-            long directReportsToCEO = empRepo.findByDepartmentId(newDept.getId())
-                    .stream()
-                    .filter(e -> e.getManager() != null && e.getManager().isCeo())
-                    .count();
-            if (directReportsToCEO >= 1) {
+            if (hasCeoDirectReport(newDept.getId(), newManager.getId())) {
                 throw new HrmsException("Only one employee per department can report directly to CEO");
             }
         }
@@ -537,6 +1365,8 @@ public class EmployeeServiceImpl implements EmployeeService {
         employee.setDepartment(newDept);
         employee.setManager(newManager);
         Employee saved = empRepo.save(employee);
+        hierarchy.moveEmployee(saved.getId(), newManager.getId());
+        publishChange(EmployeeChangedEvent.ChangeType.MOVED, saved);
         return convertToDTO(saved);
     }
 
@@ -557,7 +1387,8 @@ public class EmployeeServiceImpl implements EmployeeService {
         Department sourceDepartment = Optional.ofNullable(movingHead.getDepartment())
                 .orElseThrow(() -> new HrmsException("Department head must belong to a department"));
 
-        Department targetDepartment = deptRepo.findById(newDeptId)
+        Map<Long, Department> locked = lockDepartments(Arrays.asList(sourceDepartment.getId(), newDeptId));
+        Department targetDepartment = Optional.ofNullable(locked.get(newDeptId))
                 .orElseThrow(() -> new HrmsException("Target department not found"));
 
         Employee replacementHead = empRepo.findById(replacementHeadId)
@@ -577,73 +1408,91 @@ public class EmployeeServiceImpl implements EmployeeService {
                 .orElseThrow(() -> new HrmsException("CEO not found"));
 
       //  Additional case: Moving within same department
-        if (sourceDepartment.getId().equals(newDeptId)) {
-            // Promote replacement as new head
+        if (sourceDepartment.equals(targetDepartment)) {
+            // Read before any change so the report list matches the rows the bulk reassignment will touch
+            List<OrgChartNode> reports = empRepo.findReportNodesByManagerId(movingHead.getId()).stream()
+                    .filter(report -> !report.getId().equals(replacementHead.getId()))
+                    .collect(Collectors.toList());
+
+            // Promote replacement as new head; old head becomes normal employee under the new head
             replacementHead.setDeptHead(true);
             replacementHead.setManager(chiefExecutive);
-            empRepo.save(replacementHead);
-
-            sourceDepartment.setHead(replacementHead);
-            deptRepo.save(sourceDepartment);
-
-            // Reassign employees who were reporting to old head -> new head
-            List<Employee> directReports = empRepo.findByManager(movingHead);
-
-            if (!CollectionUtils.isEmpty(directReports)) {
-                directReports.forEach(emp -> emp.setManager(replacementHead));
-                empRepo.saveAll(directReports);
-            }
-
-            // Old head becomes normal employee under the new head
             movingHead.setDeptHead(false);
             movingHead.setManager(replacementHead);
-            empRepo.save(movingHead);
+            sourceDepartment.setHead(replacementHead);
+
+            // Reassign employees who were reporting to old head -> new head. The bulk UPDATE flushes the
+            // changes above first, so it no longer sees the replacement as one of the old head's reports
+            hierarchy.moveEmployee(replacementHead.getId(), chiefExecutive.getId());
+            moveDirectReports(movingHead, replacementHead, reports);
+            hierarchy.moveEmployee(movingHead.getId(), replacementHead.getId());
 
+            publishChange(EmployeeChangedEvent.ChangeType.MOVED, replacementHead);
+            publishChange(EmployeeChangedEvent.ChangeType.MOVED, movingHead);
+            publishHeadChange(sourceDepartment, replacementHead);
             return convertToDTO(replacementHead);
         }
 
-
-
-
-
-
-
         // If target department already has a head, demote them and set their manager to
         // the incoming head
         Employee existingTargetHead = targetDepartment.getHead();
         if (existingTargetHead != null) {
             existingTargetHead.setDeptHead(false);
             existingTargetHead.setManager(movingHead);
-            empRepo.save(existingTargetHead);
         }
 
-        // Break old head link first to satisfy unique head constraint
-        sourceDepartment.setHead(null);
-        deptRepo.save(sourceDepartment);
-        deptRepo.flush();
-
         // Assign replacement as head of source department (must report to CEO)
         replacementHead.setDeptHead(true);
         replacementHead.setManager(chiefExecutive);
-        empRepo.save(replacementHead);
-        sourceDepartment.setHead(replacementHead);
-        deptRepo.save(sourceDepartment);
-        deptRepo.flush();
 
         // Move the current head and assign as head of target department (manager is
         // CEO)
         movingHead.setDepartment(targetDepartment);
         movingHead.setDeptHead(true);
         movingHead.setManager(chiefExecutive);
-        empRepo.save(movingHead);
 
-        targetDepartment.setHead(movingHead);
-        deptRepo.save(targetDepartment);
-        deptRepo.flush();
+        // Both head pointers change in one statement; the employee rows above go out together in the next flush
+        deptRepo.swapHeads(sourceDepartment.getId(), replacementHead.getId(),
+                targetDepartment.getId(), movingHead.getId(), changeSequence.next());
 
+        if (existingTargetHead != null) {
+            hierarchy.moveEmployee(existingTargetHead.getId(), movingHead.getId());
+            publishChange(EmployeeChangedEvent.ChangeType.MOVED, existingTargetHead);
+        }
+        hierarchy.moveEmployee(replacementHead.getId(), chiefExecutive.getId());
+        hierarchy.moveEmployee(movingHead.getId(), chiefExecutive.getId());
+        publishChange(EmployeeChangedEvent.ChangeType.MOVED, replacementHead);
+        publishChange(EmployeeChangedEvent.ChangeType.MOVED, movingHead);
+        publishHeadChange(sourceDepartment, replacementHead);
+        publishHeadChange(targetDepartment, movingHead);
         return convertToDTO(movingHead);
     }
 
+    /**
+     * Locks the given departments with one SELECT ... FOR UPDATE in ascending id order. Every reorg takes
+     * its department locks here before writing any employee row, so two reorgs over overlapping
+     * departments queue on the lowest shared id instead of each holding a row the other needs.
+     */
+    private Map<Long, Department> lockDepartments(Collection<Long> deptIds) {
+        List<Long> ordered = deptIds.stream().filter(Objects::nonNull).distinct().sorted().collect(Collectors.toList());
+        Map<Long, Department> locked = new HashMap<>();
+        if (ordered.isEmpty()) {
+            return locked;
+        }
+        for (Department department : deptRepo.findAllByIdForUpdate(ordered)) {
+            locked.put(department.getId(), department);
+        }
+        return locked;
+    }
+
+    private void publishChange(EmployeeChangedEvent.ChangeType type, Employee employee) {
+        eventPublisher.publishEvent(EmployeeChangedEvent.of(type, employee));
+    }
+
+    private void publishHeadChange(Department department, Employee head) {
+        eventPublisher.publishEvent(DepartmentChangedEvent.headChanged(department, head));
+    }
+
     private boolean canModifyEmployee(Employee employee, Employee target) {
         if (employee.isCeo()) {
             return true;
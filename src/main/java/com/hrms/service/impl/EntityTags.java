@@ -0,0 +1,71 @@
+package com.hrms.service.impl;
+
+import com.hrms.exception.PreconditionFailedException;
+import com.hrms.model.Department;
+import com.hrms.model.Employee;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Strong ETags for employee and department representations. A DTO also shows data from other rows, such
+ * as the department name, the manager name and the report count. So each tag covers the versions of
+ * those rows and the counts as well as the entity's own version: any change to what the DTO shows
+ * changes the tag.
+ */
+final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    static String employee(Employee employee, long directReportsCount) {
+        Department department = employee.getDepartment();
+        Employee manager = employee.getManager();
+        return tag("employee", employee.getId(), employee.getVersion(),
+                department != null ? department.getId() : null, department != null ? department.getVersion() : null,
+                manager != null ? manager.getId() : null, manager != null ? manager.getVersion() : null,
+                directReportsCount);
+    }
+
+    static String department(Long id, Long version, Long headId, Long headVersion, long employeeCount) {
+        return tag("department", id, version, headId, headVersion, employeeCount);
+    }
+
+    /** Tag over several department tags, in the order the list is returned. */
+    static String combine(Iterable<String> tags) {
+        StringBuilder parts = new StringBuilder("list");
+        for (String tag : tags) {
+            parts.append(':').append(tag);
+        }
+        return quote(DigestUtils.md5DigestAsHex(parts.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Strong comparison as RFC 9110 requires for If-Match: {@code *} or one of the listed tags must equal
+     * the current one, and weak tags never match. A missing header means the update is unconditional.
+     */
+    static void checkIfMatch(String ifMatch, String currentTag) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return;
+        }
+        for (String candidate : ifMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || trimmed.equals(currentTag)) {
+                return;
+            }
+        }
+        throw new PreconditionFailedException("The resource has changed since it was read; fetch it again and retry");
+    }
+
+    private static String tag(Object... parts) {
+        StringBuilder joined = new StringBuilder();
+        for (Object part : parts) {
+            joined.append(part).append(':');
+        }
+        return quote(DigestUtils.md5DigestAsHex(joined.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String quote(String value) {
+        return "\"" + value + "\"";
+    }
+}
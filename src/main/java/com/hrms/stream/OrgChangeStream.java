@@ -0,0 +1,297 @@
+package com.hrms.stream;
+
+import com.hrms.DTOs.OrgChangeDTO;
+import com.hrms.event.DepartmentChangedEvent;
+import com.hrms.event.EmployeeChangedEvent;
+import com.hrms.event.EmployeesImportedEvent;
+import com.hrms.exception.ServiceBusyException;
+import com.hrms.exception.UnauthorizedException;
+import com.hrms.model.Employee;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans committed employee and department changes out to Server-Sent Events subscribers.
+ * <p>
+ * Each change gets the next sequence number, and its event id is {@code <epoch>-<sequence>}, where the
+ * epoch is this process's start time. The last {@code hrms.org-changes.replay-size} changes are kept in a
+ * ring. A subscriber that reconnects with {@code Last-Event-ID} gets every change after that id, unless the
+ * id is from another epoch or has fallen out of the ring. It then gets a {@code reset} event and must
+ * resync from a full read.
+ * <p>
+ * Events carry names and emails from the whole org, so only the CEO may subscribe, as with the full
+ * employee list.
+ * <p>
+ * Publishing never blocks the committing thread. Each subscriber has a bounded queue and a sender that
+ * writes to the connection. A subscriber whose queue is full is dropped: its stream ends, and it can
+ * reconnect and resume from its last event id. Senders run on a pool of platform threads, one per allowed
+ * subscriber. {@code SseEmitter.send} is synchronized and writes to the socket, so a sender on a virtual
+ * thread would pin its carrier for as long as a slow client keeps the write blocked.
+ */
+@Component
+public class OrgChangeStream {
+
+    private static final Logger log = LoggerFactory.getLogger(OrgChangeStream.class);
+
+    private static final String RESET_EVENT = "reset";
+    private static final String IMPORTED_TYPE = "IMPORTED";
+
+    private record Change(long sequence, OrgChangeDTO body) {
+    }
+
+    private final long epoch = System.currentTimeMillis();
+    private final int replaySize;
+    private final int subscriberBuffer;
+    private final int maxSubscribers;
+    private final long heartbeatMillis;
+    private final long timeoutMillis;
+    private final long retryAfterSeconds;
+
+    // Guarded by this: the ring and the sequence move together, and subscribers join between two changes
+    private final Change[] ring;
+    private long sequence;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor senders;
+    private final AtomicLong subscriberIds = new AtomicLong();
+    private final Counter dropped;
+
+    public OrgChangeStream(MeterRegistry meterRegistry,
+                           @Value("${hrms.org-changes.replay-size:10000}") int replaySize,
+                           @Value("${hrms.org-changes.subscriber-buffer:256}") int subscriberBuffer,
+                           @Value("${hrms.org-changes.max-subscribers:100}") int maxSubscribers,
+                           @Value("${hrms.org-changes.heartbeat-ms:15000}") long heartbeatMillis,
+                           @Value("${hrms.org-changes.timeout-ms:1800000}") long timeoutMillis,
+                           @Value("${hrms.org-changes.retry-after-seconds:5}") long retryAfterSeconds) {
+        this.replaySize = Math.max(1, replaySize);
+        this.subscriberBuffer = Math.max(1, subscriberBuffer);
+        this.maxSubscribers = maxSubscribers;
+        this.heartbeatMillis = heartbeatMillis;
+        this.timeoutMillis = timeoutMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.ring = new Change[this.replaySize];
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("org-changes-");
+        threadFactory.setDaemon(true);
+        // Unbounded queue, but the subscriber cap keeps it empty except while a dropped sender finishes
+        this.senders = new ThreadPoolExecutor(Math.max(1, maxSubscribers), Math.max(1, maxSubscribers),
+                0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), threadFactory);
+        this.dropped = Counter.builder("hrms.org-changes.dropped-subscribers").register(meterRegistry);
+        Gauge.builder("hrms.org-changes.subscribers", subscribers, Set::size).register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        append(OrgChangeDTO.builder()
+                .entity("employee")
+                .type(event.type().name())
+                .id(event.employeeId())
+                .name(event.name())
+                .email(event.email())
+                .departmentId(event.departmentId())
+                .managerId(event.managerId())
+                .ceo(event.ceo()));
+    }
+
+    // A single change for the whole import; subscribers catch up on the new rows with a delta sync or full read
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeesImported(EmployeesImportedEvent event) {
+        append(OrgChangeDTO.builder()
+                .entity("employee")
+                .type(IMPORTED_TYPE)
+                .count(event.employees().size()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDepartmentChanged(DepartmentChangedEvent event) {
+        append(OrgChangeDTO.builder()
+                .entity("department")
+                .type(event.type().name())
+                .id(event.departmentId())
+                .name(event.name())
+                .headId(event.headId()));
+    }
+
+    /**
+     * Opens a stream that first replays the changes after {@code lastEventId}, if given, and then follows
+     * new ones.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        if (!currentUser().isCeo()) {
+            throw new UnauthorizedException("Only CEO can follow org changes");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(subscriberIds.incrementAndGet(), emitter);
+        List<Change> backlog = new ArrayList<>();
+        boolean reset;
+        // The limit is checked under the same lock as the add, so concurrent subscribes cannot overshoot it
+        synchronized (this) {
+            if (subscribers.size() >= maxSubscribers) {
+                throw new ServiceBusyException("Too many change stream subscribers, please retry shortly", retryAfterSeconds);
+            }
+            reset = !collectBacklog(lastEventId, backlog);
+            subscribers.add(subscriber);
+        }
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        subscriber.task = senders.submit(() -> subscriber.run(backlog, reset));
+        return emitter;
+    }
+
+    @PreDestroy
+    public void stop() {
+        subscribers.forEach(Subscriber::close);
+        senders.shutdownNow();
+    }
+
+    private Employee currentUser() {
+        try {
+            return (Employee) Objects.requireNonNull(
+                    SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+        } catch (Exception e) {
+            throw new UnauthorizedException("Unable to get current user");
+        }
+    }
+
+    private void append(OrgChangeDTO.OrgChangeDTOBuilder builder) {
+        synchronized (this) {
+            long next = ++sequence;
+            Change change = new Change(next, builder.eventId(eventId(next)).committedAt(Instant.now()).build());
+            ring[(int) (next % replaySize)] = change;
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(change);
+            }
+        }
+    }
+
+    // Caller holds the lock. False when the id cannot be resumed from and the subscriber must resync.
+    private boolean collectBacklog(String lastEventId, List<Change> backlog) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return true;
+        }
+        long last = parseSequence(lastEventId);
+        long oldest = Math.max(1, sequence - replaySize + 1);
+        if (last < 0 || last > sequence || last < oldest - 1) {
+            return false;
+        }
+        for (long next = last + 1; next <= sequence; next++) {
+            backlog.add(ring[(int) (next % replaySize)]);
+        }
+        return true;
+    }
+
+    private long parseSequence(String eventId) {
+        int dash = eventId.indexOf('-');
+        if (dash < 0) {
+            return -1;
+        }
+        try {
+            if (Long.parseLong(eventId.substring(0, dash).trim()) != epoch) {
+                return -1;
+            }
+            return Long.parseLong(eventId.substring(dash + 1).trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    private final class Subscriber {
+
+        private final long id;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Change> queue = new ArrayBlockingQueue<>(subscriberBuffer);
+        private volatile boolean closed;
+        private volatile Future<?> task;
+
+        Subscriber(long id, SseEmitter emitter) {
+            this.id = id;
+            this.emitter = emitter;
+        }
+
+        // Called with the stream lock held, so it must not block
+        void offer(Change change) {
+            if (!closed && !queue.offer(change)) {
+                log.info("Dropping change stream subscriber {}: {} changes behind", id, queue.size());
+                dropped.increment();
+                close();
+            }
+        }
+
+        void run(List<Change> backlog, boolean reset) {
+            try {
+                if (reset) {
+                    emitter.send(SseEmitter.event().name(RESET_EVENT)
+                            .data(Map.of("message", "Changes since the given event id are no longer available; resync"),
+                                    MediaType.APPLICATION_JSON));
+                }
+                for (Change change : backlog) {
+                    send(change);
+                }
+                while (!closed) {
+                    Change change = queue.poll(heartbeatMillis, TimeUnit.MILLISECONDS);
+                    if (change != null) {
+                        send(change);
+                    } else if (!closed) {
+                        emitter.send(SseEmitter.event().comment("keepalive"));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Change stream subscriber {} disconnected: {}", id, e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                close();
+                emitter.complete();
+            }
+        }
+
+        private void send(Change change) throws IOException {
+            emitter.send(SseEmitter.event()
+                    .id(change.body().getEventId())
+                    .name(change.body().getEntity())
+                    .data(change.body(), MediaType.APPLICATION_JSON));
+        }
+
+        // Only flags and wakes the sender; the sender completes the emitter, since a blocked send holds its lock.
+        // Cancelling the task rather than interrupting a thread leaves a pool thread alone once it has moved on.
+        void close() {
+            closed = true;
+            subscribers.remove(this);
+            Future<?> running = task;
+            if (running != null) {
+                running.cancel(true);
+            }
+        }
+    }
+}
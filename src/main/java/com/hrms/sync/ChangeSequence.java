@@ -0,0 +1,110 @@
+package com.hrms.sync;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out the org-wide change sequence stamped on employee, department and tombstone rows.
+ * <p>
+ * Values are taken when a row is written, but they become visible only when their transaction commits. A
+ * transaction holding value 7 may still be open while one holding value 8 has already committed. A reader
+ * that moved its position past 8 would then never see 7. {@link #watermark()} is therefore the highest
+ * value with no open transaction at or below it, and delta reads stop there. Each transaction is tracked by
+ * the first value it took, since all its later values are higher.
+ * <p>
+ * The counter starts above the highest value stored, so a restart never hands out a value a reader may
+ * already have passed. That value is read once at startup, after the schema exists and before any runner
+ * writes. {@link #next()} therefore never queries while holding its lock, which would pin the virtual
+ * thread that request handlers run on. Like the other in-memory indexes, this assumes a single
+ * application instance.
+ */
+@Component
+public class ChangeSequence implements SmartInitializingSingleton {
+
+    private static final String[] STAMPED_TABLES = {"employees", "departments", "employee_tombstones"};
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Guarded by lock; a ReentrantLock rather than a monitor so waiting virtual threads unmount
+    private final ReentrantLock lock = new ReentrantLock();
+    private long current = -1;
+    private final TreeSet<Long> openTransactions = new TreeSet<>();
+
+    public ChangeSequence(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Runs once every singleton exists, so Hibernate has created the schema, and before command line runners
+    @Override
+    public void afterSingletonsInstantiated() {
+        long highest = 0;
+        for (String table : STAMPED_TABLES) {
+            Long max = jdbcTemplate.queryForObject("SELECT MAX(change_seq) FROM " + table, Long.class);
+            if (max != null) {
+                highest = Math.max(highest, max);
+            }
+        }
+        lock.lock();
+        try {
+            current = highest;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long next() {
+        lock.lock();
+        try {
+            checkLoaded();
+            long value = ++current;
+            if (TransactionSynchronizationManager.isSynchronizationActive()
+                    && !TransactionSynchronizationManager.hasResource(this)) {
+                TransactionSynchronizationManager.bindResource(this, value);
+                openTransactions.add(value);
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        TransactionSynchronizationManager.unbindResourceIfPossible(ChangeSequence.this);
+                        release(value);
+                    }
+                });
+            }
+            return value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Every value up to this one belongs to a finished transaction. */
+    public long watermark() {
+        lock.lock();
+        try {
+            checkLoaded();
+            return openTransactions.isEmpty() ? current : openTransactions.first() - 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(long firstValue) {
+        lock.lock();
+        try {
+            openTransactions.remove(firstValue);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Caller holds the lock
+    private void checkLoaded() {
+        if (current < 0) {
+            throw new IllegalStateException("Change sequence used before startup loaded it");
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.hrms.sync;
+
+import com.hrms.model.ChangeSequenced;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stamps {@link ChangeSequenced} entities when Hibernate inserts or updates them. Hibernate copies values
+ * set in {@code @PreUpdate} into the row it writes. Bulk statements bypass this listener and set
+ * {@code change_seq} themselves.
+ */
+@Component
+public class ChangeSequenceListener {
+
+    private final ChangeSequence changeSequence;
+
+    public ChangeSequenceListener(ChangeSequence changeSequence) {
+        this.changeSequence = changeSequence;
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void stamp(Object entity) {
+        if (entity instanceof ChangeSequenced sequenced) {
+            sequenced.setChangeSeq(changeSequence.next());
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.hrms.benchmark;
+
+import com.hrms.monitoring.QueryStats;
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.MappingMatch;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletMapping;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.net.http.HttpClient;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Fails the build when a read route runs more JDBC statements than its budget, runs one SQL string more
+ * than once, or runs more statements for a larger page. Requests go through {@link MockMvc} with the
+ * security filter chain on the test thread, so a {@link QueryStats} measurement around each one covers the
+ * whole request including security and serialization, and is checked with its {@code assert} methods.
+ * <p>
+ * Settings are system properties: {@code budget.employees} and {@code budget.departments}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryBudgetTest {
+
+    private static final String API_PREFIX = "/api/v1";
+    private static final int SMALL_PAGE = 10;
+    private static final int LARGE_PAGE = 200;
+    // A SQL string running twice in one read is the start of an N+1
+    private static final int MAX_EXECUTIONS_PER_STATEMENT = 1;
+
+    // Route name, URL relative to /api/v1 (%d is the page size for paged routes) and statement budget
+    private record Budget(String name, String path, boolean paged, int maxStatements) {
+    }
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mvc;
+    private String token;
+    private LoadTestHarness.Fixtures fixtures;
+
+    @BeforeAll
+    void startApplication() throws Exception {
+        // A devtools restart would load the app's QueryStats in another class loader than this test's
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = LoadTestHarness.start(Integer.getInteger("budget.employees", 2_000),
+                Integer.getInteger("budget.departments", 10));
+        String baseUrl = LoadTestHarness.baseUrl(context);
+        HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        token = LoadTestHarness.login(http, baseUrl);
+        fixtures = LoadTestHarness.Fixtures.load(http, baseUrl, token);
+        mvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context)
+                .addFilters(context.getBean("springSecurityFilterChain", Filter.class))
+                .build();
+    }
+
+    @AfterAll
+    void stopApplication() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @TestFactory
+    Stream<DynamicTest> readRoutesStayWithinStatementBudgets() {
+        long employee = fixtures.employees()[fixtures.employees().length - 1];
+        long department = fixtures.departments()[0];
+        long head = fixtures.heads()[0];
+        List<Budget> budgets = List.of(
+                new Budget("profile", "/employees/profile", false, 2),
+                new Budget("employee", "/employees/" + employee, false, 4),
+                new Budget("reports", "/employees/manager/" + head, false, 3),
+                new Budget("departments", "/departments", false, 2),
+                new Budget("department", "/departments/" + department, false, 1),
+                new Budget("employee-fields", "/employees/" + employee + "?fields=id,name", false, 1),
+                new Budget("employees-page", "/employees/page?size=%d", true, 2),
+                new Budget("employees-page-fields", "/employees/page?fields=id,name&size=%d", true, 1),
+                new Budget("department-employees-page", "/employees/department/" + department + "/page?size=%d",
+                        true, 3),
+                new Budget("subtree", "/employees/" + head + "/subtree?size=%d", true, 4));
+        return budgets.stream().map(budget -> DynamicTest.dynamicTest(budget.name(), () -> checkBudget(budget)));
+    }
+
+    private void checkBudget(Budget budget) {
+        String small = API_PREFIX + (budget.paged() ? String.format(budget.path(), SMALL_PAGE) : budget.path());
+        String large = API_PREFIX + (budget.paged() ? String.format(budget.path(), LARGE_PAGE) : budget.path());
+        // The first call fills per-user caches; only the steady state is budgeted
+        measure(small);
+        QueryStats smallStats = measure(small);
+        smallStats.assertStatementsAtMost(budget.maxStatements())
+                .assertNoStatementRepeatedMoreThan(MAX_EXECUTIONS_PER_STATEMENT);
+        if (budget.paged()) {
+            measure(large)
+                    .assertStatementsAtMost(budget.maxStatements())
+                    .assertNoStatementRepeatedMoreThan(MAX_EXECUTIONS_PER_STATEMENT)
+                    .assertSameStatementCountAs(smallStats);
+        }
+    }
+
+    private QueryStats measure(String url) {
+        return QueryStats.measure(() -> {
+            try {
+                MvcResult result = mvc.perform(MockMvcRequestBuilders.get(url)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .with(QueryBudgetTest::dispatcherServletMapping)).andReturn();
+                if (result.getResponse().getStatus() != 200) {
+                    throw new IllegalStateException(url + " returned " + result.getResponse().getStatus());
+                }
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException(url + " failed", e);
+            }
+        });
+    }
+
+    // Security's request matchers look the servlet up by name, so the mock request must name the real one
+    private static MockHttpServletRequest dispatcherServletMapping(MockHttpServletRequest request) {
+        request.setHttpServletMapping(new MockHttpServletMapping("", "/", "dispatcherServlet", MappingMatch.DEFAULT));
+        return request;
+    }
+}